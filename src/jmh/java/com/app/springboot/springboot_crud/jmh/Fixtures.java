@@ -0,0 +1,31 @@
+package com.app.springboot.springboot_crud.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Product product(long n) {
+        Product product = new Product();
+        product.setId(n);
+        product.setSku("SKU-" + n);
+        product.setName("Producto " + (n % 1000));
+        product.setPrice(10 + (int) (n % 5000));
+        product.setDescription("Descripción del producto número " + n);
+        return product;
+    }
+
+    static List<Product> products(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.app.springboot.springboot_crud.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.json.ProductJsonHttpMessageConverter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Serialización y deserialización Jackson de Product y de listas de productos
+ * con un ObjectMapper configurado igual que el de Spring Boot, comparada con
+ * ProductJsonHttpMessageConverter (app.products.json.codec=precompiled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({ "1", "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectReader listReader;
+
+    private Product product;
+
+    private List<Product> products;
+
+    private byte[] productJson;
+
+    private byte[] productsJson;
+
+    private ProductJsonHttpMessageConverter converter;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new ProductJsonHttpMessageConverter(objectMapper);
+        listReader = objectMapper.readerFor(new TypeReference<List<Product>>() {
+        });
+        product = Fixtures.product(1);
+        products = Fixtures.products(size);
+        productJson = objectMapper.writeValueAsBytes(product);
+        productsJson = objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public Product deserializeProduct() throws Exception {
+        return objectMapper.readValue(productJson, Product.class);
+    }
+
+    @Benchmark
+    public List<Product> deserializeList() throws Exception {
+        return listReader.readValue(productsJson);
+    }
+
+    @Benchmark
+    public byte[] serializeProductCodec() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(product, Product.class, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] serializeListCodec() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(products, List.class, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public Object deserializeProductCodec() throws Exception {
+        return converter.read(Product.class, null, new MockHttpInputMessage(productJson));
+    }
+
+}
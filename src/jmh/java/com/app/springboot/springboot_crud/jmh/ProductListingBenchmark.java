@@ -0,0 +1,95 @@
+package com.app.springboot.springboot_crud.jmh;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+import com.app.springboot.springboot_crud.services.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Costo por producto listado: consulta + serialización JSON de una página de
+ * PAGE filas, como entidades (findPage) o como proyecciones (findViews).
+ * Cada invocación cuenta como PAGE operaciones, así que con -prof gc la
+ * métrica gc.alloc.rate.norm es directamente bytes asignados por producto:
+ *
+ * mvn -Pjmh verify -Djmh.include=ProductListingBenchmark -Djmh.args="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ProductListingBenchmark.PAGE)
+public class ProductListingBenchmark {
+
+    static final int PAGE = 1_000;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService service;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.cache.type=none", "spring.jpa.show-sql=false",
+                        "app.products.search.enabled=false", "app.products.sku-index.enabled=false")
+                .run();
+        service = context.getBean(ProductService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        service.saveAll(Fixtures.products(PAGE));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.findPage(null, PAGE));
+    }
+
+    @Benchmark
+    public byte[] projections() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.findViews(null, PAGE, null));
+    }
+
+    @Benchmark
+    public byte[] projectionsWithFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.findViews(null, PAGE, Set.of("sku", "price")));
+    }
+
+    @Benchmark
+    public List<?> projectionsQueryOnly() {
+        return service.findViews(null, PAGE, null);
+    }
+
+    @Benchmark
+    public List<?> entitiesQueryOnly() {
+        return service.findPage(null, PAGE);
+    }
+
+}
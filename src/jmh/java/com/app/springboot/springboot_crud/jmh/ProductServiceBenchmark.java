@@ -0,0 +1,102 @@
+package com.app.springboot.springboot_crud.jmh;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+/**
+ * Operaciones CRUD de ProductServiceImpl contra la base de datos embebida H2
+ * en modo MariaDB (configuración de src/test/resources). La caché se desactiva
+ * para medir el camino completo hasta la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService service;
+
+    private long firstId;
+
+    private final AtomicLong sequence = new AtomicLong(ROWS);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.cache.type=none", "spring.jpa.show-sql=false")
+                .run();
+        service = context.getBean(ProductService.class);
+        List<Product> products = Fixtures.products(ROWS);
+        for (int i = 0; i < ROWS; i += 1_000) {
+            service.saveAll(products.subList(i, i + 1_000));
+        }
+        firstId = service.findPage(null, 1).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Product> findPage() {
+        return service.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    public Optional<Product> update() {
+        long id = randomId();
+        return service.update(id, Fixtures.product(id - firstId + 1));
+    }
+
+    @Benchmark
+    public Optional<Product> saveAndDelete() {
+        Product product = Fixtures.product(sequence.incrementAndGet());
+        product.setId(null);
+        return service.delete(service.save(product).getId());
+    }
+
+    @Benchmark
+    public boolean existsBySku() {
+        return service.existsBySku("SKU-" + randomId());
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.app.springboot.springboot_crud.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.metrics.ProductMetrics;
+import com.app.springboot.springboot_crud.services.ProductService;
+import com.app.springboot.springboot_crud.validation.IsExistsValidation;
+import com.app.springboot.springboot_crud.validation.SkuIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+
+/**
+ * Costo de la validación Bean Validation de Product tal como la ejecuta
+ * @Valid en ProductController: @IsRequired (RequiredValidation), @Size, @Min,
+ * @NotNull y @IsExistsDB (IsExistsValidation). La consulta existsBySku se
+ * reemplaza por una respuesta inmediata para medir solo la validación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductValidationBenchmark {
+
+    private LocalValidatorFactoryBean validator;
+
+    private Product valid;
+
+    private Product invalid;
+
+    @Setup
+    public void setUp() {
+        ProductService service = (ProductService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ProductService.class },
+                (proxy, method, args) -> method.getName().equals("existsBySku") ? Boolean.FALSE : null);
+        SkuIndex skuIndex = new SkuIndex();
+        ProductMetrics metrics = new ProductMetrics(new SimpleMeterRegistry());
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+
+        validator = new LocalValidatorFactoryBean();
+        validator.setValidationMessageSource(messageSource);
+        validator.setConstraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                T instance = BeanUtils.instantiateClass(key);
+                if (instance instanceof IsExistsValidation) {
+                    ReflectionTestUtils.setField(instance, "service", service);
+                    ReflectionTestUtils.setField(instance, "skuIndex", skuIndex);
+                    ReflectionTestUtils.setField(instance, "metrics", metrics);
+                }
+                return instance;
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            }
+        });
+        validator.afterPropertiesSet();
+
+        valid = Fixtures.product(1);
+        invalid = new Product();
+        invalid.setName("ab");
+        invalid.setPrice(5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validator.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Product>> validProduct() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Product>> invalidProduct() {
+        return validator.validate(invalid);
+    }
+
+}
@@ -1,10 +1,29 @@
 package com.app.springboot.springboot_crud;
 
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.PropertySource;
 
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.CatalogImportStatus;
+import com.app.springboot.springboot_crud.dto.IngestStatus;
+import com.app.springboot.springboot_crud.dto.ProductChange;
+import com.app.springboot.springboot_crud.dto.ProductChangePage;
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.dto.ProductStats;
+import com.app.springboot.springboot_crud.dto.ProductView;
+
+/*
+ * Los DTO se devuelven como ResponseEntity<?>, así que el procesamiento AOT
+ * no sabe que Jackson los serializa: se registran aquí para la imagen nativa.
+ */
 @Configuration
 @PropertySource("classpath:messages.properties")
+@ImportRuntimeHints(AppRuntimeHints.class)
+@RegisterReflectionForBinding({ BatchItemResult.class, CatalogImportStatus.class, IngestStatus.class,
+        ProductChange.class, ProductChangePage.class, ProductSearchPage.class, ProductStats.class,
+        ProductView.class })
 public class AppConfig {
 
 }
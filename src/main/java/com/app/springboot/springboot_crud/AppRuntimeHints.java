@@ -0,0 +1,40 @@
+package com.app.springboot.springboot_crud;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.app.springboot.springboot_crud.validation.IsExistsDB;
+import com.app.springboot.springboot_crud.validation.IsExistsValidation;
+import com.app.springboot.springboot_crud.validation.IsRequired;
+import com.app.springboot.springboot_crud.validation.RequiredValidation;
+
+/**
+ * Lo que la imagen nativa (perfil native) no puede descubrir por análisis
+ * estático.
+ *
+ * Hibernate Validator crea los ConstraintValidator por reflexión: Spring los
+ * instancia con createBean, que además inyecta los campos @Autowired de
+ * IsExistsValidation, y lee los atributos de las anotaciones de Product. Los
+ * mensajes de messages.properties se cargan como recurso desde
+ * @PropertySource, el MessageSource y el interpolador de mensajes.
+ */
+public class AppRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> validator : new Class<?>[] { IsExistsValidation.class, RequiredValidation.class }) {
+            hints.reflection().registerType(validator,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> constraint : new Class<?>[] { IsExistsDB.class, IsRequired.class }) {
+            hints.reflection().registerType(constraint, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("messages.properties");
+        hints.resources().registerPattern("messages_*.properties");
+        hints.resources().registerPattern("META-INF/orm-pooled-ids.xml");
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.app.springboot.springboot_crud;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de productos por id.
+ *
+ * La implementación se elige con spring.cache.type (caffeine por defecto, none
+ * para desactivarla) y se ajusta con spring.cache.caffeine.spec: tamaño
+ * máximo (Caffeine desaloja con W-TinyLFU) y expiración (TTL). Con
+ * recordStats, Actuator publica aciertos, fallos y desalojos como métricas
+ * cache.*.
+ *
+ * No se declara un CacheLoader: con uno, Spring consulta la caché con
+ * LoadingCache.get y los fallos se cargarían sin pasar por
+ * ProductServiceImpl.findById (su transacción de solo lectura, la comprobación
+ * de ProductVersionFence y sus métricas). Las entradas se mantienen al día con
+ * la escritura en la caché tras cada commit y el TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+}
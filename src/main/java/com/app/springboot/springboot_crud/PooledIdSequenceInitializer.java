@@ -0,0 +1,35 @@
+package com.app.springboot.springboot_crud;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Con el perfil pooled-ids la tabla products puede tener ya filas creadas con
+ * AUTO_INCREMENT. La secuencia (db/mariadb/schema.sql) empieza en 1, así que
+ * antes de aceptar peticiones se adelanta por encima del id más alto para que
+ * los ids reservados no choquen con los existentes.
+ */
+@Component
+@Profile("pooled-ids")
+@DependsOn("entityManagerFactory")
+public class PooledIdSequenceInitializer implements InitializingBean {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXTVAL(products_seq)", Long.class);
+        if (next - ALLOCATION_SIZE <= maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE products_seq RESTART WITH " + (maxId + ALLOCATION_SIZE + 1));
+        }
+    }
+
+}
@@ -3,7 +3,16 @@ package com.app.springboot.springboot_crud;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+/*
+ * Con el perfil Maven reactive R2DBC está en el classpath; su
+ * R2dbcTransactionManager reemplazaría al JpaTransactionManager de esta
+ * aplicación.
+ */
+@SpringBootApplication(excludeName = {
+		"org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+		"org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration",
+		"org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+		"org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration" })
 public class SpringbootCrudApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,107 @@
+package com.app.springboot.springboot_crud;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Diagnóstico de hilos virtuales fijados (pinned).
+ *
+ * Con spring.threads.virtual.enabled=true, Tomcat atiende cada petición en un
+ * hilo virtual y las llamadas bloqueantes a JPA/JDBC liberan el hilo portador
+ * mientras esperan a MariaDB. Si la espera ocurre dentro de un bloque
+ * synchronized (por ejemplo en un driver JDBC antiguo), el hilo virtual queda
+ * fijado a su portador y lo bloquea igual que un hilo de plataforma.
+ *
+ * Este componente escucha el evento JFR jdk.VirtualThreadPinned, acumula la
+ * duración en la métrica jvm.threads.virtual.pinned y registra una advertencia
+ * la primera vez que aparece cada punto de código responsable.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.virtual-threads.pinning-threshold:20ms}")
+    private Duration threshold;
+
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Tiempo que un hilo virtual quedó fijado a su hilo portador")
+                .register(registry);
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            String origin = origin(event.getStackTrace());
+            if (reported.add(origin)) {
+                log.warn("Hilo virtual fijado {} ms en {}", event.getDuration().toMillis(), origin);
+            }
+        });
+        stream.startAsync();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static String origin(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "desconocido";
+        }
+        StringBuilder origin = new StringBuilder();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (!origin.isEmpty()) {
+                origin.append(" <- ");
+            }
+            origin.append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+            if (origin.length() > 400) {
+                break;
+            }
+        }
+        return origin.toString();
+    }
+
+}
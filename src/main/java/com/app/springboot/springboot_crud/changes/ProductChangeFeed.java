@@ -0,0 +1,140 @@
+package com.app.springboot.springboot_crud.changes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.springboot.springboot_crud.dto.ProductChange;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Suscripciones SSE a los cambios de productos.
+ *
+ * Cada suscriptor tiene un hilo virtual que lee de ProductChangeLog lotes de
+ * hasta batch-size cambios a partir de su cursor y los envía con un solo
+ * flush; cada evento lleva su offset como id, de modo que al reconectar el
+ * cliente continúa desde Last-Event-ID. Sin cambios nuevos, el hilo espera al
+ * siguiente commit (o poll-interval, por los cambios de otras instancias) y
+ * cada heartbeat envía un comentario para detectar conexiones cerradas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.changes.enabled", havingValue = "true")
+public class ProductChangeFeed implements DisposableBean {
+
+    @Autowired
+    private ProductChangeLog changeLog;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.products.changes.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.products.changes.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${app.products.changes.heartbeat:15s}")
+    private Duration heartbeat;
+
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("products.changes.subscribers", subscribers, Set::size)
+                .description("Suscriptores conectados a /api/products/changes")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter();
+        subscribers.add(emitter);
+        Subscription subscription = new Subscription(emitter, since);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        Thread.ofVirtual().name("product-changes").start(subscription);
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        changeLog.wakeUp();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private long cursor;
+
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.cursor = since;
+        }
+
+        @Override
+        public void run() {
+            long lastSent = System.nanoTime();
+            try {
+                while (running && !closed) {
+                    List<ProductChange> changes = changeLog.read(cursor, batchSize);
+                    if (!changes.isEmpty()) {
+                        Set<DataWithMediaType> batch = new LinkedHashSet<>();
+                        for (ProductChange change : changes) {
+                            batch.addAll(SseEmitter.event()
+                                    .id(Long.toString(change.offset()))
+                                    .name(change.type().name())
+                                    .data(change, MediaType.APPLICATION_JSON)
+                                    .build());
+                        }
+                        emitter.send(batch);
+                        cursor = changes.get(changes.size() - 1).offset();
+                        lastSent = System.nanoTime();
+                        continue;
+                    }
+                    if (System.nanoTime() - lastSent >= heartbeat.toNanos()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSent = System.nanoTime();
+                    }
+                    changeLog.awaitAfter(cursor, pollInterval);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // el cliente cerró la conexión o el emitter ya terminó
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(emitter);
+        }
+    }
+
+}
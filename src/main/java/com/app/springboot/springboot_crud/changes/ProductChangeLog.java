@@ -0,0 +1,255 @@
+package com.app.springboot.springboot_crud.changes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.springboot.springboot_crud.dto.ProductChange;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Outbox transaccional de los cambios de productos (app.products.changes.enabled).
+ *
+ * Escucha ProductChangedEvent de forma síncrona, dentro de la transacción que
+ * hace el cambio, y junta los eventos de esa transacción. Justo antes del
+ * commit reserva un bloque de offsets en product_change_sequence (el UPDATE
+ * bloquea la fila hasta el commit) y los inserta en product_changes. Como la
+ * reserva y el commit quedan serializados, un consumidor que lee por offset
+ * nunca ve un offset mayor antes de que los menores sean visibles, y un
+ * rollback no deja ni filas ni huecos.
+ *
+ * Las filas más antiguas que retention se eliminan cada hora; un cursor
+ * anterior a la fila más antigua ya no se puede continuar.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.changes.enabled", havingValue = "true")
+@DependsOn("entityManagerFactory")
+public class ProductChangeLog implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeLog.class);
+
+    static final String INIT_SEQUENCE = "INSERT INTO product_change_sequence (id, last_offset) "
+            + "SELECT 1, COALESCE(MAX(change_offset), 0) FROM product_changes "
+            + "WHERE NOT EXISTS (SELECT 1 FROM product_change_sequence WHERE id = 1)";
+
+    static final String RESERVE = "UPDATE product_change_sequence SET last_offset = last_offset + ? WHERE id = 1";
+
+    static final String LAST_OFFSET = "SELECT last_offset FROM product_change_sequence WHERE id = 1";
+
+    static final String INSERT = "INSERT INTO product_changes (change_offset, product_id, type, payload, changed_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    static final String SELECT_AFTER = "SELECT change_offset, product_id, type, payload, changed_at "
+            + "FROM product_changes WHERE change_offset > ? ORDER BY change_offset LIMIT ?";
+
+    static final String FIRST_OFFSET = "SELECT MIN(change_offset) FROM product_changes";
+
+    static final String PURGE = "DELETE FROM product_changes WHERE changed_at < ?";
+
+    static final RowMapper<ProductChange> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp changedAt = rs.getTimestamp("changed_at");
+        return new ProductChange(
+                rs.getLong("change_offset"),
+                ProductChangedEvent.Type.valueOf(rs.getString("type")),
+                rs.getLong("product_id"),
+                rs.getString("payload"),
+                changedAt == null ? null : changedAt.toInstant());
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.products.changes.retention:7d}")
+    private Duration retention;
+
+    /* Último offset confirmado en esta instancia; despierta a los suscriptores */
+    private volatile long lastCommitted;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition committed = lock.newCondition();
+
+    private ScheduledExecutorService purger;
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.update(INIT_SEQUENCE);
+        lastCommitted = lastOffset();
+        purger = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "product-changes-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void destroy() {
+        purger.shutdownNow();
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(transactionTemplate.execute(status -> append(List.of(event))));
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /* Cambios posteriores a since, como máximo limit, en orden de offset */
+    public List<ProductChange> read(long since, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, since, limit);
+    }
+
+    public long lastOffset() {
+        Long last = jdbcTemplate.queryForObject(LAST_OFFSET, Long.class);
+        return last == null ? 0 : last;
+    }
+
+    /*
+     * true si los cambios posteriores a since ya no están completos porque se
+     * purgaron: el consumidor debe volver a listar los productos.
+     */
+    public boolean isExpired(long since) {
+        Long first = jdbcTemplate.queryForObject(FIRST_OFFSET, Long.class);
+        return since < (first == null ? lastOffset() : first - 1);
+    }
+
+    /*
+     * Espera hasta que esta instancia confirme un cambio posterior a offset o
+     * pase timeout. Los cambios confirmados por otras instancias se ven en la
+     * siguiente lectura, así que quien espera vuelve a consultar igualmente.
+     */
+    public void awaitAfter(long offset, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (lastCommitted <= offset && nanos > 0) {
+                nanos = committed.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Despierta a los suscriptores sin que haya cambios (cierre) */
+    void wakeUp() {
+        lock.lock();
+        try {
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long append(List<ProductChangedEvent> events) {
+        jdbcTemplate.update(RESERVE, events.size());
+        long last = lastOffset();
+        long offset = last - events.size();
+        Timestamp changedAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (ProductChangedEvent event : events) {
+            rows.add(new Object[] { ++offset, event.id(), event.type().name(), payload(event.current()), changedAt });
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        return last;
+    }
+
+    private String payload(Product product) {
+        if (product == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el producto " + product.getId(), e);
+        }
+    }
+
+    private void committed(long offset) {
+        lock.lock();
+        try {
+            if (offset > lastCommitted) {
+                lastCommitted = offset;
+            }
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void purge() {
+        try {
+            int purged = jdbcTemplate.update(PURGE, Timestamp.from(Instant.now().minus(retention)));
+            if (purged > 0) {
+                log.info("Eliminados {} cambios de productos anteriores a {}", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron purgar los cambios de productos", e);
+        }
+    }
+
+    /* Eventos de la transacción en curso, escritos en beforeCommit */
+    private final class Pending implements TransactionSynchronization {
+
+        final List<ProductChangedEvent> events = new ArrayList<>();
+
+        long last;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            last = append(events);
+        }
+
+        @Override
+        public void afterCommit() {
+            committed(last);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductChangeLog.this);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Transporte de las invalidaciones entre instancias
+ * (app.cache.invalidation.enabled=true), elegido con
+ * app.cache.invalidation.transport: jdbc (por defecto) o multicast.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class CacheCoherenceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+    public InvalidationTransport jdbcInvalidationTransport(JdbcTemplate jdbcTemplate,
+            @Value("${app.cache.invalidation.poll-interval:500ms}") Duration pollInterval,
+            @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${app.cache.invalidation.gap-timeout:2s}") Duration gapTimeout,
+            @Value("${app.cache.invalidation.retention:10m}") Duration retention) {
+        return new JdbcInvalidationTransport(jdbcTemplate, pollInterval, batchSize, gapTimeout, retention);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "multicast")
+    public InvalidationTransport multicastInvalidationTransport(
+            @Value("${app.cache.invalidation.multicast.group:239.255.27.1}") String group,
+            @Value("${app.cache.invalidation.multicast.port:45588}") int port,
+            @Value("${app.cache.invalidation.multicast.interface:}") String interfaceName,
+            @Value("${app.cache.invalidation.multicast.ttl:1}") int ttl) {
+        return new MulticastInvalidationTransport(group, port, interfaceName, ttl);
+    }
+
+}
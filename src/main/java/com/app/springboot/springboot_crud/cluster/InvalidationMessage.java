@@ -0,0 +1,11 @@
+package com.app.springboot.springboot_crud.cluster;
+
+/**
+ * Cambio confirmado en la instancia origin que las demás deben aplicar a sus
+ * cachés. version es la versión del producto tras el cambio (null si no se
+ * pudo conocer: la entrada se descarta sin marca de versión); en las bajas
+ * deleted es true y previousSku es el sku eliminado.
+ */
+public record InvalidationMessage(String origin, Long productId, Long version, boolean deleted,
+        String previousSku, String sku) {
+}
@@ -0,0 +1,21 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Medio por el que viajan los InvalidationMessage entre instancias. Las
+ * implementaciones no garantizan orden ni entrega exactamente una vez: quien
+ * recibe aplica cada mensaje con ProductVersionFence, así que un duplicado o
+ * un mensaje atrasado no tiene efecto.
+ */
+public interface InvalidationTransport {
+
+    /* Abre el transporte y entrega a receiver los mensajes recibidos, propios incluidos */
+    void start(Consumer<InvalidationMessage> receiver);
+
+    void publish(List<InvalidationMessage> messages);
+
+    void stop();
+
+}
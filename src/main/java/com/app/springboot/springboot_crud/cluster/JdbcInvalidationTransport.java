@@ -0,0 +1,176 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Transporte por defecto: cada instancia inserta sus mensajes en
+ * product_invalidations y lee periódicamente los posteriores al último id
+ * procesado. Solo necesita la base de datos que ya comparten las instancias.
+ *
+ * Los id son AUTO_INCREMENT y dos inserciones concurrentes pueden confirmarse
+ * en otro orden, así que un id que falta puede aparecer después. Los huecos se
+ * vuelven a consultar durante gapTimeout; pasado ese tiempo se dan por
+ * perdidos (una inserción revertida o un salto del AUTO_INCREMENT).
+ */
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationTransport.class);
+
+    static final String INSERT = "INSERT INTO product_invalidations "
+            + "(origin, product_id, version, deleted, previous_sku, sku, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    static final String SELECT_AFTER = "SELECT id, origin, product_id, version, deleted, previous_sku, sku "
+            + "FROM product_invalidations WHERE id > ? ORDER BY id LIMIT ?";
+
+    static final String LAST_ID = "SELECT COALESCE(MAX(id), 0) FROM product_invalidations";
+
+    static final String PURGE = "DELETE FROM product_invalidations WHERE created_at < ?";
+
+    private record Row(long id, InvalidationMessage message) {
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong("id"),
+            new InvalidationMessage(
+                    rs.getString("origin"),
+                    rs.getLong("product_id"),
+                    rs.getObject("version", Long.class),
+                    rs.getBoolean("deleted"),
+                    rs.getString("previous_sku"),
+                    rs.getString("sku")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration pollInterval;
+
+    private final int batchSize;
+
+    private final Duration gapTimeout;
+
+    private final Duration retention;
+
+    private ScheduledExecutorService poller;
+
+    private Consumer<InvalidationMessage> receiver;
+
+    /* Todos los id hasta cursor están entregados o descartados */
+    private long cursor;
+
+    private long highest;
+
+    /* Huecos por debajo de highest: id -> System.nanoTime() en que se detectó */
+    private final TreeMap<Long, Long> missing = new TreeMap<>();
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate, Duration pollInterval, int batchSize,
+            Duration gapTimeout, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    /*
+     * Una instancia que arranca tiene las cachés vacías: empieza a leer desde
+     * el último mensaje existente.
+     */
+    @Override
+    public void start(Consumer<InvalidationMessage> receiver) {
+        this.receiver = receiver;
+        Long last = jdbcTemplate.queryForObject(LAST_ID, Long.class);
+        cursor = highest = last == null ? 0 : last;
+        poller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-invalidation-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 10, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void publish(List<InvalidationMessage> messages) {
+        Timestamp createdAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (InvalidationMessage message : messages) {
+            rows.add(new Object[] { message.origin(), message.productId(), message.version(), message.deleted(),
+                    message.previousSku(), message.sku(), createdAt });
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    @Override
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /*
+     * La primera consulta parte del cursor para recoger los huecos que se
+     * hayan llenado; las siguientes, del último id visto.
+     */
+    void poll() {
+        try {
+            long from = cursor;
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, from, batchSize);
+                for (Row row : rows) {
+                    accept(row);
+                }
+                from = highest;
+            } while (rows.size() == batchSize);
+            settle();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron leer las invalidaciones de caché", e);
+        }
+    }
+
+    private void accept(Row row) {
+        long now = System.nanoTime();
+        if (row.id() > highest) {
+            // un hueco mayor que un lote es un salto del AUTO_INCREMENT, no una inserción en curso
+            if (row.id() - highest <= batchSize) {
+                for (long id = highest + 1; id < row.id(); id++) {
+                    missing.put(id, now);
+                }
+            }
+            highest = row.id();
+        } else if (missing.remove(row.id()) == null) {
+            // ya entregado en una consulta anterior
+            return;
+        }
+        receiver.accept(row.message());
+    }
+
+    private void settle() {
+        long now = System.nanoTime();
+        missing.values().removeIf(detected -> now - detected > gapTimeout.toNanos());
+        cursor = missing.isEmpty() ? highest : missing.firstKey() - 1;
+    }
+
+    private void purge() {
+        try {
+            jdbcTemplate.update(PURGE, Timestamp.from(Instant.now().minus(retention)));
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron purgar las invalidaciones de caché", e);
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transporte UDP multicast: cada lote de mensajes se envía al grupo en
+ * datagramas de hasta MAX_DATAGRAM bytes y cada instancia unida al grupo los
+ * recibe sin pasar por la base de datos.
+ *
+ * UDP puede perder datagramas; una entrada que no se invalida sigue
+ * limitada por la expiración de la caché (spring.cache.caffeine.spec). Con
+ * IP_MULTICAST_LOOP varias instancias en la misma máquina se ven entre sí
+ * (en Linux, con la interfaz lo, hay que activar multicast: ip link set lo
+ * multicast on).
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+
+    /* Cabe en una trama Ethernet sin fragmentar */
+    static final int MAX_DATAGRAM = 1400;
+
+    private static final int MAGIC = 0x50494e56;
+
+    private final InetSocketAddress group;
+
+    private final String interfaceName;
+
+    private final int ttl;
+
+    private MulticastSocket socket;
+
+    private NetworkInterface networkInterface;
+
+    private Thread receiverThread;
+
+    private volatile boolean running;
+
+    public MulticastInvalidationTransport(String group, int port, String interfaceName, int ttl) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(group), port);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Grupo multicast no válido: " + group, e);
+        }
+        this.interfaceName = interfaceName;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void start(Consumer<InvalidationMessage> receiver) {
+        try {
+            socket = new MulticastSocket(group.getPort());
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket.setTimeToLive(ttl);
+            if (interfaceName != null && !interfaceName.isBlank()) {
+                networkInterface = NetworkInterface.getByName(interfaceName);
+                if (networkInterface == null) {
+                    throw new IllegalStateException("No existe la interfaz " + interfaceName);
+                }
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo unir al grupo multicast " + group, e);
+        }
+        running = true;
+        receiverThread = new Thread(() -> receive(receiver), "cache-invalidation-multicast");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    @Override
+    public void publish(List<InvalidationMessage> messages) {
+        try {
+            for (byte[] datagram : encode(messages)) {
+                socket.send(new DatagramPacket(datagram, datagram.length, group));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron enviar las invalidaciones", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (socket != null) {
+            try {
+                socket.leaveGroup(group, networkInterface);
+            } catch (IOException e) {
+                // el socket se cierra igualmente
+            }
+            socket.close();
+        }
+    }
+
+    private void receive(Consumer<InvalidationMessage> receiver) {
+        byte[] buffer = new byte[65536];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                decode(packet.getData(), packet.getLength()).forEach(receiver);
+            } catch (SocketException e) {
+                // socket cerrado en stop()
+            } catch (IOException | RuntimeException e) {
+                log.warn("Datagrama de invalidación descartado", e);
+            }
+        }
+    }
+
+    /*
+     * Formato: MAGIC, número de mensajes y, por mensaje, origin, productId,
+     * version (con marca de presencia), deleted, previousSku y sku (con marca
+     * de presencia). Los mensajes se reparten en datagramas de hasta
+     * MAX_DATAGRAM bytes.
+     */
+    static List<byte[]> encode(List<InvalidationMessage> messages) throws IOException {
+        List<byte[]> datagrams = new ArrayList<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(MAX_DATAGRAM);
+        int count = 0;
+        for (InvalidationMessage message : messages) {
+            byte[] encoded = encode(message);
+            if (count > 0 && 8 + body.size() + encoded.length > MAX_DATAGRAM) {
+                datagrams.add(datagram(count, body));
+                body.reset();
+                count = 0;
+            }
+            body.write(encoded);
+            count++;
+        }
+        if (count > 0) {
+            datagrams.add(datagram(count, body));
+        }
+        return datagrams;
+    }
+
+    static List<InvalidationMessage> decode(byte[] data, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Datagrama desconocido");
+        }
+        int count = in.readInt();
+        List<InvalidationMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String origin = in.readUTF();
+            long productId = in.readLong();
+            Long version = in.readBoolean() ? in.readLong() : null;
+            boolean deleted = in.readBoolean();
+            messages.add(new InvalidationMessage(origin, productId, version, deleted, readString(in), readString(in)));
+        }
+        return messages;
+    }
+
+    private static byte[] encode(InvalidationMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(message.origin());
+        out.writeLong(message.productId());
+        out.writeBoolean(message.version() != null);
+        if (message.version() != null) {
+            out.writeLong(message.version());
+        }
+        out.writeBoolean(message.deleted());
+        writeString(out, message.previousSku());
+        writeString(out, message.sku());
+        return bytes.toByteArray();
+    }
+
+    private static byte[] datagram(int count, ByteArrayOutputStream body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + body.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(count);
+        body.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.CacheConfig;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+import com.app.springboot.springboot_crud.services.ProductVersionFence;
+import com.app.springboot.springboot_crud.validation.SkuIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coherencia de las cachés de productos entre instancias
+ * (app.cache.invalidation.enabled).
+ *
+ * Cada ProductChangedEvent confirmado en esta instancia se convierte en un
+ * InvalidationMessage y un hilo aparte lo publica, en lotes, por el
+ * InvalidationTransport configurado; la petición que hizo el cambio no espera
+ * al envío. Los mensajes de las demás instancias se aplican a la caché
+ * "products" (findById) y a SkuIndex (existsBySku).
+ *
+ * Cada mensaje lleva la versión del producto tras el cambio y se aplica a
+ * través de ProductVersionFence: un mensaje atrasado o repetido no borra una
+ * copia más nueva, y una lectura anterior al cambio que termina después ya no
+ * entra en la caché.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+@DependsOn("entityManagerFactory")
+public class ProductCacheCoherence implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheCoherence.class);
+
+    @Autowired
+    private InvalidationTransport transport;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductVersionFence fence;
+
+    @Autowired
+    private SkuIndex skuIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.cache.invalidation.node-id:}")
+    private String nodeId;
+
+    @Value("${app.cache.invalidation.batch-size:500}")
+    private int batchSize;
+
+    private final BlockingQueue<ProductChangedEvent> pending = new LinkedBlockingQueue<>();
+
+    private Thread publisher;
+
+    private Counter sent;
+
+    private Counter applied;
+
+    private Counter ignored;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        sent = counter("sent");
+        applied = counter("applied");
+        ignored = counter("ignored");
+        transport.start(this::receive);
+        publisher = new Thread(this::publishLoop, "cache-invalidation-publish");
+        publisher.setDaemon(true);
+        publisher.start();
+        log.info("Invalidación de cachés entre instancias activa (nodo {}, {})", nodeId,
+                transport.getClass().getSimpleName());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        publisher.interrupt();
+        publisher.join(1000);
+        List<ProductChangedEvent> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            publish(remaining);
+        }
+        transport.stop();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        pending.add(event);
+    }
+
+    /*
+     * Aplica un mensaje de otra instancia. Los propios se ignoran: esta
+     * instancia ya actualizó sus cachés con ProductCacheInvalidator y SkuIndex.
+     */
+    void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        try {
+            if (apply(message)) {
+                applied.increment();
+            } else {
+                ignored.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo aplicar la invalidación del producto {}", message.productId(), e);
+        }
+    }
+
+    private boolean apply(InvalidationMessage message) {
+        Long id = message.productId();
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (message.deleted()) {
+            fence.retire(id);
+        } else if (message.version() != null && !fence.advance(id, message.version())) {
+            // ya se aplicó un cambio posterior
+            return false;
+        }
+        if (cache != null) {
+            Product cached = cache.get(id, Product.class);
+            if (message.deleted() || message.version() == null || cached == null || cached.getVersion() == null
+                    || cached.getVersion() < message.version()) {
+                cache.evict(id);
+            }
+        }
+        skuIndex.changed(message.previousSku(), message.sku());
+        return true;
+    }
+
+    private void publishLoop() {
+        List<ProductChangedEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(pending.take());
+                pending.drainTo(batch, batchSize - 1);
+                publish(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            pending.addAll(batch);
+        }
+    }
+
+    private void publish(List<ProductChangedEvent> events) {
+        List<InvalidationMessage> messages = new ArrayList<>(events.size());
+        try {
+            for (ProductChangedEvent event : events) {
+                messages.add(message(event));
+            }
+            transport.publish(messages);
+            sent.increment(messages.size());
+        } catch (RuntimeException e) {
+            // las demás instancias lo verán al expirar la entrada
+            log.warn("No se pudieron publicar {} invalidaciones de caché", events.size(), e);
+        }
+    }
+
+    private InvalidationMessage message(ProductChangedEvent event) {
+        Product previous = event.previous();
+        Product current = event.current();
+        String previousSku = previous == null ? null : previous.getSku();
+        if (current == null) {
+            return new InvalidationMessage(nodeId, event.id(), previous.getVersion(), true, previousSku, null);
+        }
+        return new InvalidationMessage(nodeId, event.id(), current.getVersion(), false, previousSku, current.getSku());
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("products.cache.invalidations")
+                .description("Invalidaciones de caché entre instancias")
+                .tag("result", result)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.app.springboot.springboot_crud.compression;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Compresión de las respuestas de /api/* (app.compression.enabled=true).
+ *
+ * Sustituye a server.compression de Tomcat, que crea un GZIPOutputStream (y
+ * su Deflater) por respuesta y no negocia deflate: ResponseCompressionFilter
+ * reutiliza los Deflater de un pool de app.compression.pool-size por
+ * codificación.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${app.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${app.compression.level:6}") int level,
+            @Value("${app.compression.pool-size:64}") int poolSize,
+            @Value("${app.compression.mime-types:application/json,application/x-ndjson}") String mimeTypes,
+            @Value("${app.compression.codings:gzip,deflate}") String[] codings) {
+        Set<ContentCoding> enabled = EnumSet.noneOf(ContentCoding.class);
+        Arrays.stream(codings).map(ContentCoding::of).forEach(enabled::add);
+        FilterRegistrationBean<ResponseCompressionFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCompressionFilter((int) minResponseSize.toBytes(), level, poolSize,
+                        MediaType.parseMediaTypes(mimeTypes), enabled));
+        registration.addUrlPatterns("/api/*");
+        // por fuera de los demás filtros, para comprimir lo que escriban
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+
+}
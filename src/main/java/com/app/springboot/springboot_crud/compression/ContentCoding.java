@@ -0,0 +1,99 @@
+package com.app.springboot.springboot_crud.compression;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codificaciones de contenido que ResponseCompressionFilter sabe producir con
+ * el Deflater del JDK, en orden de preferencia cuando el cliente acepta varias
+ * con la misma calidad.
+ */
+public enum ContentCoding {
+
+    GZIP("gzip", true), DEFLATE("deflate", false);
+
+    private final String token;
+
+    /* gzip usa el flujo deflate sin la envoltura zlib; deflate (RFC 9110) es zlib */
+    private final boolean nowrap;
+
+    ContentCoding(String token, boolean nowrap) {
+        this.token = token;
+        this.nowrap = nowrap;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    boolean nowrap() {
+        return nowrap;
+    }
+
+    public static ContentCoding of(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token.trim())) {
+                return coding;
+            }
+        }
+        throw new IllegalArgumentException("Codificación no soportada: " + token);
+    }
+
+    /* true si Accept-Encoding admite la codificación con calidad mayor que 0 */
+    public static boolean accepts(String acceptEncoding, ContentCoding coding) {
+        return quality(qualities(acceptEncoding), coding) > 0;
+    }
+
+    /*
+     * La codificación de mayor calidad entre las habilitadas, o null si el
+     * cliente no acepta ninguna (se responde sin comprimir).
+     */
+    public static ContentCoding negotiate(String acceptEncoding, Set<ContentCoding> enabled) {
+        Map<String, Double> qualities = qualities(acceptEncoding);
+        ContentCoding best = null;
+        double bestQuality = 0;
+        for (ContentCoding coding : values()) {
+            double quality = quality(qualities, coding);
+            if (enabled.contains(coding) && quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static double quality(Map<String, Double> qualities, ContentCoding coding) {
+        Double quality = qualities.get(coding.token);
+        return quality != null ? quality : qualities.getOrDefault("*", 0.0);
+    }
+
+    private static Map<String, Double> qualities(String acceptEncoding) {
+        Map<String, Double> qualities = new HashMap<>();
+        if (acceptEncoding == null) {
+            return qualities;
+        }
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            qualities.put(name, quality);
+        }
+        return qualities;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.app.springboot.springboot_crud.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater reutilizables. Cada Deflater reserva unos 256 KB de memoria nativa
+ * (zlib) al crearse; reutilizarlos evita ese costo y la espera a que el GC los
+ * libere en cada respuesta comprimida. Si el pool está vacío se crea uno nuevo
+ * y, si al devolverlo está lleno, se libera.
+ */
+final class DeflaterPool {
+
+    private final int level;
+
+    private final BlockingQueue<Deflater> gzip;
+
+    private final BlockingQueue<Deflater> deflate;
+
+    DeflaterPool(int level, int size) {
+        this.level = level;
+        this.gzip = new ArrayBlockingQueue<>(size);
+        this.deflate = new ArrayBlockingQueue<>(size);
+    }
+
+    Deflater borrow(ContentCoding coding) {
+        Deflater deflater = queue(coding).poll();
+        return deflater != null ? deflater : new Deflater(level, coding.nowrap());
+    }
+
+    void release(ContentCoding coding, Deflater deflater) {
+        deflater.reset();
+        if (!queue(coding).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private BlockingQueue<Deflater> queue(ContentCoding coding) {
+        return coding == ContentCoding.GZIP ? gzip : deflate;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.app.springboot.springboot_crud.compression;
+
+import java.util.Arrays;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * h2c (HTTP/2 sin TLS) en Tomcat con server.http2.enabled=true, que solo
+ * activa el perfil dev.
+ *
+ * Sin TLS no hay ALPN: Tomcat solo atiende HTTP/2 en el conector si tiene
+ * registrado Http2Protocol como protocolo de Upgrade. Se registra aquí si
+ * todavía no lo está. Aun así, solo lo usan los clientes que lo piden con
+ * Upgrade: h2c o que hablan HTTP/2 desde el primer byte; los navegadores
+ * nunca usan h2c y siguen con HTTP/1.1.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class H2cConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> h2cUpgradeProtocol() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (Arrays.stream(connector.findUpgradeProtocols()).noneMatch(Http2Protocol.class::isInstance)) {
+                connector.addUpgradeProtocol(new Http2Protocol());
+            }
+        });
+    }
+
+}
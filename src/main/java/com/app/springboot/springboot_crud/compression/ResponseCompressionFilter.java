@@ -0,0 +1,428 @@
+package com.app.springboot.springboot_crud.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Comprime las respuestas del API según Accept-Encoding (gzip o deflate).
+ *
+ * El cuerpo se acumula hasta minSize bytes: si la respuesta termina antes se
+ * envía sin comprimir y con Content-Length; si lo supera, se comprime sobre la
+ * marcha con un Deflater del pool, sin guardar el cuerpo completo. Una
+ * respuesta que ya trae Content-Encoding (por ejemplo el listado precomprimido
+ * de ProductListingSnapshot), cuyo Content-Length declarado es menor que
+ * minSize o cuyo tipo no está en mimeTypes (text/event-stream, entre otros) se
+ * escribe tal cual desde el primer byte.
+ *
+ * Las respuestas asíncronas (StreamingResponseBody, SseEmitter) siguen
+ * escribiendo en el mismo envoltorio y se terminan en el despacho asíncrono.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final DeflaterPool pool;
+
+    private final int minSize;
+
+    private final List<MediaType> mimeTypes;
+
+    private final Set<ContentCoding> codings;
+
+    public ResponseCompressionFilter(int minSize, int level, int poolSize, List<MediaType> mimeTypes,
+            Set<ContentCoding> codings) {
+        this.pool = new DeflaterPool(level, poolSize);
+        this.minSize = minSize;
+        this.mimeTypes = mimeTypes;
+        this.codings = codings;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse compressing = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressing == null) {
+            ContentCoding coding = "HEAD".equals(request.getMethod()) ? null
+                    : ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), codings);
+            if (coding == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            compressing = new CompressingResponse(response, coding);
+            response = compressing;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            compressing.release();
+            throw e;
+        }
+        if (!isAsyncStarted(request)) {
+            compressing.finish();
+        }
+    }
+
+    private enum State {
+        BUFFERING, IDENTITY, COMPRESSING, FINISHED
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final ContentCoding coding;
+
+        private final byte[] buffer = new byte[minSize];
+
+        private int count;
+
+        private long declaredLength = -1;
+
+        private State state = State.BUFFERING;
+
+        private OutputStream target;
+
+        private Deflater deflater;
+
+        private ServletOutputStream stream;
+
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, ContentCoding coding) {
+            super(response);
+            this.coding = coding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() ya fue invocado en esta respuesta");
+            }
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() ya fue invocado en esta respuesta");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (state == State.IDENTITY) {
+                super.setContentLengthLong(length);
+            } else if (state == State.BUFFERING) {
+                declaredLength = length;
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!contentLength(name, value)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!contentLength(name, value)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (!contentLength(name, Integer.toString(value))) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (!contentLength(name, Integer.toString(value))) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                // termina en flush() del stream
+                writer.flush();
+            } else {
+                flush();
+            }
+        }
+
+        /*
+         * Mientras se acumula, un flush no decide nada salvo que la respuesta
+         * no se vaya a comprimir (SSE hace flush antes de escribir).
+         */
+        private void flush() throws IOException {
+            if (state == State.BUFFERING && !eligible()) {
+                identity();
+            }
+            if (state == State.COMPRESSING) {
+                target.flush();
+            }
+            if (state != State.BUFFERING) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (state == State.BUFFERING) {
+                count = 0;
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (state == State.BUFFERING) {
+                count = 0;
+                declaredLength = -1;
+            }
+            super.reset();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            discard();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            discard();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            discard();
+            super.sendRedirect(location);
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            try {
+                if (state == State.BUFFERING) {
+                    if (declaredLength < 0) {
+                        declaredLength = count;
+                    }
+                    identity();
+                } else if (state == State.COMPRESSING) {
+                    ((DeflaterOutputStream) target).finish();
+                }
+            } finally {
+                release();
+                state = State.FINISHED;
+            }
+        }
+
+        void release() {
+            if (deflater != null) {
+                pool.release(coding, deflater);
+                deflater = null;
+            }
+        }
+
+        /* El contenedor escribe su propia respuesta: lo acumulado se descarta */
+        private void discard() {
+            if (state == State.BUFFERING) {
+                count = 0;
+                state = State.IDENTITY;
+            }
+        }
+
+        private boolean contentLength(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || state == State.IDENTITY) {
+                return false;
+            }
+            if (state == State.BUFFERING) {
+                try {
+                    declaredLength = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    declaredLength = -1;
+                }
+            }
+            return true;
+        }
+
+        private boolean eligible() {
+            int status = getStatus();
+            if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT
+                    || status == HttpServletResponse.SC_NOT_MODIFIED) {
+                return false;
+            }
+            if (getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+                return false;
+            }
+            if (declaredLength >= 0 && declaredLength < minSize) {
+                return false;
+            }
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            MediaType type = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(mimeType -> mimeType.includes(type));
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (state == State.BUFFERING) {
+                if (!eligible()) {
+                    identity();
+                } else if (count + length <= buffer.length) {
+                    System.arraycopy(bytes, offset, buffer, count, length);
+                    count += length;
+                    return;
+                } else {
+                    compress();
+                }
+            }
+            if (state == State.FINISHED) {
+                throw new IOException("La respuesta ya terminó");
+            }
+            if (target == null) {
+                target = super.getOutputStream();
+            }
+            target.write(bytes, offset, length);
+        }
+
+        private void identity() throws IOException {
+            state = State.IDENTITY;
+            if (declaredLength >= 0) {
+                super.setContentLengthLong(declaredLength);
+            }
+            target = super.getOutputStream();
+            target.write(buffer, 0, count);
+        }
+
+        private void compress() throws IOException {
+            state = State.COMPRESSING;
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            // el cuerpo comprimido es otra representación: un ETag fuerte pasa a débil
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && etag.startsWith("\"")) {
+                super.setHeader(HttpHeaders.ETAG, "W/" + etag);
+            }
+            deflater = pool.borrow(coding);
+            OutputStream out = super.getOutputStream();
+            target = coding == ContentCoding.GZIP ? new GzipOutputStream(out, deflater)
+                    : new DeflaterOutputStream(out, deflater, 8192, true);
+            target.write(buffer, 0, count);
+        }
+
+        private ServletOutputStream stream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        CompressingResponse.this.write(new byte[] { (byte) b }, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        CompressingResponse.this.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        CompressingResponse.this.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        throw new UnsupportedOperationException("Escritura no bloqueante no soportada al comprimir");
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+
+    /*
+     * Formato gzip (RFC 1952) sobre un Deflater del pool: GZIPOutputStream
+     * siempre crea el suyo.
+     */
+    private static final class GzipOutputStream extends DeflaterOutputStream {
+
+        private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+        private final CRC32 crc = new CRC32();
+
+        GzipOutputStream(OutputStream out, Deflater deflater) throws IOException {
+            super(out, deflater, 8192, true);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            super.write(bytes, offset, length);
+            crc.update(bytes, offset, length);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!def.finished()) {
+                super.finish();
+                long size = def.getBytesRead();
+                byte[] trailer = new byte[8];
+                writeInt(trailer, 0, crc.getValue());
+                writeInt(trailer, 4, size);
+                out.write(trailer);
+            }
+        }
+
+        private static void writeInt(byte[] bytes, int offset, long value) {
+            for (int i = 0; i < 4; i++) {
+                bytes[offset + i] = (byte) (value >> (8 * i));
+            }
+        }
+    }
+
+}
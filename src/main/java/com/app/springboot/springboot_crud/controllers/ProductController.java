@@ -1,49 +1,402 @@
 package com.app.springboot.springboot_crud.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 // import com.app.springboot.springboot_crud.ProductValidation;
+import com.app.springboot.springboot_crud.changes.ProductChangeFeed;
+import com.app.springboot.springboot_crud.changes.ProductChangeLog;
+import com.app.springboot.springboot_crud.compression.ContentCoding;
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.CatalogImportStatus;
+import com.app.springboot.springboot_crud.dto.IngestStatus;
+import com.app.springboot.springboot_crud.dto.ProductChange;
+import com.app.springboot.springboot_crud.dto.ProductChangePage;
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.dto.ProductStats;
+import com.app.springboot.springboot_crud.dto.ProductView;
 import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.ingest.ProductIngestQueue;
+import com.app.springboot.springboot_crud.listing.ProductListingSnapshot;
+import com.app.springboot.springboot_crud.metrics.ProductMetrics;
+import com.app.springboot.springboot_crud.search.ProductSearchQuery;
 import com.app.springboot.springboot_crud.services.ProductService;
+import com.app.springboot.springboot_crud.stats.ProductCatalogStats;
+import com.app.springboot.springboot_crud.transfer.CatalogFormat;
+import com.app.springboot.springboot_crud.transfer.CatalogImporter;
+import com.app.springboot.springboot_crud.transfer.ProductWriter;
+import com.app.springboot.springboot_crud.validation.UniqueSku;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /* Orden fijo de las columnas en el UPDATE parcial */
+    static final List<String> PATCHABLE_FIELDS = List.of("sku", "name", "price", "description");
+
     // @Autowired
     // private ProductValidation validation;
 
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductMetrics metrics;
+
+    @Value("${app.products.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.products.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.products.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    /* Solo existe con app.products.ingest.enabled=true */
+    @Autowired
+    private ObjectProvider<ProductIngestQueue> ingestQueue;
+
+    /* Solo existen con app.products.changes.enabled=true */
+    @Autowired
+    private ObjectProvider<ProductChangeLog> changeLog;
+
+    @Autowired
+    private ObjectProvider<ProductChangeFeed> changeFeed;
+
+    /* Solo existe con app.products.listing-cache.enabled=true */
+    @Autowired
+    private ObjectProvider<ProductListingSnapshot> listingSnapshot;
+
+    /* Solo existe con app.products.stats.enabled=true */
+    @Autowired
+    private ObjectProvider<ProductCatalogStats> catalogStats;
+
+    /* Solo existe con app.products.import.enabled=true */
+    @Autowired
+    private ObjectProvider<CatalogImporter> catalogImporter;
+
+    /*
+     * Listado paginado por cursor. El cliente pide la siguiente página enviando
+     * en el parámetro after el id del último producto recibido; ese valor viene
+     * en la cabecera X-Next-Cursor (y en Link rel="next") mientras queden filas.
+     *
+     * La página lleva un ETag calculado con el id y la versión de cada fila: si
+     * coincide con If-None-Match, Spring responde 304 sin serializar el cuerpo.
+     *
+     * Las filas se leen como proyecciones ProductView. Con fields (por ejemplo
+     * ?fields=sku,price) solo se seleccionan y se escriben esas propiedades,
+     * además de id y version.
+     */
     @GetMapping
-    public List<Product> list() {
-        return service.findAll();
+    public ResponseEntity<?> list(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Set<String> selected = null;
+        if (fields != null && !fields.isBlank()) {
+            selected = new HashSet<>();
+            for (String field : fields.split(",")) {
+                field = field.trim();
+                if (!ProductView.FIELDS.contains(field)) {
+                    return ResponseEntity.badRequest()
+                            .body(Map.of("fields", "El campo fields no admite la propiedad " + field));
+                }
+                selected.add(field);
+            }
+        }
+        List<ProductView> products = service.findViews(after, pageSize, selected);
+        metrics.listed(products.size());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ProductETags.ofPage(products, after + ":" + pageSize + ":" + fields));
+        if (products.size() == pageSize) {
+            Long next = products.get(products.size() - 1).id();
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", next)
+                    .replaceQueryParam("size", pageSize)
+                    .toUriString();
+            response.header("X-Next-Cursor", String.valueOf(next))
+                    .header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        return response.body(products);
+    }
+
+    /*
+     * Listado completo en streaming: las filas se leen de un cursor JDBC y se
+     * escriben una por una en la respuesta, sin construir la lista en memoria.
+     * Con Accept: application/x-ndjson se escribe un producto por línea; en otro
+     * caso se escribe un único arreglo JSON.
+     *
+     * Con app.products.listing-cache.enabled=true, una vez cargado, el listado
+     * sale de ProductListingSnapshot: los bytes ya serializados (o ya
+     * comprimidos, si el cliente acepta gzip) se copian a la respuesta con su
+     * Content-Length y un ETag por versión, y If-None-Match responde 304.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(APPLICATION_NDJSON::equalsTypeAndSubtype);
+
+        ProductListingSnapshot cache = listingSnapshot.getIfAvailable();
+        ProductListingSnapshot.Snapshot snapshot = cache == null ? null : cache.current();
+        if (snapshot != null) {
+            return fromSnapshot(snapshot, ndjson, ContentCoding.accepts(acceptEncoding, ContentCoding.GZIP), request);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                if (ndjson) {
+                    generator.setRootValueSeparator(null);
+                } else {
+                    generator.writeStartArray();
+                }
+                long[] rows = new long[1];
+                service.forEach(product -> {
+                    try {
+                        generator.writeObject(product);
+                        rows[0]++;
+                        if (ndjson) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+                metrics.streamed(rows[0]);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> fromSnapshot(ProductListingSnapshot.Snapshot snapshot,
+            boolean ndjson, boolean acceptsGzip, WebRequest request) {
+        boolean gzip = !ndjson && acceptsGzip && snapshot.gzipLength() >= 0;
+        // checkNotModified también escribe la cabecera ETag en la respuesta
+        if (request.checkNotModified(snapshot.etag(ndjson, gzip))) {
+            return null;
+        }
+        metrics.streamed(snapshot.count());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(snapshot.gzipLength())
+                    .body(snapshot::writeGzip);
+        }
+        if (ndjson) {
+            return response.contentLength(snapshot.ndjsonLength()).body(snapshot::writeNdjson);
+        }
+        return response.contentLength(snapshot.jsonLength()).body(snapshot::writeJson);
+    }
+
+    /*
+     * Búsqueda por texto libre (q, sobre name y description), rango de precio y
+     * prefijo de sku, paginada con page y size. sort admite relevance (por
+     * defecto), price y -price.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String sku,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        ProductSearchQuery.Sort order = switch (sort) {
+            case "relevance" -> ProductSearchQuery.Sort.RELEVANCE;
+            case "price" -> ProductSearchQuery.Sort.PRICE_ASC;
+            case "-price" -> ProductSearchQuery.Sort.PRICE_DESC;
+            default -> null;
+        };
+        if (order == null) {
+            return ResponseEntity.badRequest().body(Map.of("sort", "El campo sort debe ser relevance, price o -price"));
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        ProductSearchQuery query = new ProductSearchQuery(q, minPrice, maxPrice,
+                sku == null || sku.isEmpty() ? null : sku, order, Math.max(0, page), pageSize);
+        if (query.emptyPriceRange()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("maxPrice", "El campo maxPrice debe ser mayor o igual que minPrice"));
+        }
+        ProductSearchPage result = service.search(query);
+        metrics.searched(result.items().size());
+        return ResponseEntity.ok(result);
+    }
+
+    /*
+     * Agregados del catálogo mantenidos en memoria por ProductCatalogStats: no
+     * recorren la tabla. Mientras se hace el primer cálculo se responde 503.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> stats() {
+        ProductCatalogStats stats = catalogStats.getIfAvailable();
+        if (stats == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<ProductStats> current = stats.current();
+        if (current.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Las estadísticas del catálogo todavía se están calculando"));
+        }
+        return ResponseEntity.ok(current.orElseThrow());
     }
 
+    /*
+     * Exportación del catálogo completo en CSV (por defecto) o en el formato
+     * columnar, elegido con ?format=csv|columnar o con Accept. Las filas se leen
+     * con el mismo cursor JDBC que /stream y se escriben a medida que llegan.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Optional<CatalogFormat> catalogFormat = format != null ? CatalogFormat.of(format)
+                : Optional.of(acceptedFormat(accept).orElse(CatalogFormat.CSV));
+        if (catalogFormat.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("format", "El campo format debe ser csv o columnar"));
+        }
+        CatalogFormat exportFormat = catalogFormat.orElseThrow();
+        StreamingResponseBody body = out -> {
+            ProductWriter writer = exportFormat.writer(out);
+            long[] rows = new long[1];
+            service.forEach(product -> {
+                try {
+                    writer.write(product);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            metrics.streamed(rows[0]);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products" + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /*
+     * Importación en segundo plano (app.products.import.enabled): el archivo se
+     * recibe completo y se responde 202 con la URL de seguimiento. Cada
+     * registro es un alta con las mismas validaciones que POST. Mientras hay
+     * otra importación en curso, 503 con Retry-After.
+     */
+    @PostMapping(value = "/import", consumes = { CatalogFormat.CSV_VALUE, CatalogFormat.COLUMNAR_VALUE })
+    public ResponseEntity<?> importCatalog(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        CatalogImporter importer = catalogImporter.getIfAvailable();
+        if (importer == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<CatalogImportStatus> status;
+        try {
+            status = importer.submit(body, CatalogFormat.of(contentType).orElseThrow());
+        } catch (CatalogImporter.Busy e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .body(Map.of("file", e.getMessage()));
+        }
+        if (status.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("file", "El archivo supera el tamaño máximo de " + importer.maxSize()));
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{importId}")
+                        .buildAndExpand(status.orElseThrow().importId())
+                        .toUri())
+                .body(status.orElseThrow());
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<?> importStatus(@PathVariable String importId) {
+        CatalogImporter importer = catalogImporter.getIfAvailable();
+        Optional<CatalogImportStatus> status = importer == null ? Optional.empty() : importer.status(importId);
+        if (status.isPresent()) {
+            return ResponseEntity.ok(status.orElseThrow());
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /*
+     * GET condicional: el producto sale de la caché (findById es @Cacheable), y
+     * si If-None-Match o If-Modified-Since indican que el cliente ya tiene esta
+     * versión, Spring responde 304 sin escribir el cuerpo.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<?> view(@PathVariable Long id) {
         Optional<Product> optionalProduct = service.findById(id);
         if (optionalProduct.isPresent()) {
-            return ResponseEntity.ok(optionalProduct.orElseThrow());
+            return withValidators(ResponseEntity.ok(), optionalProduct.orElseThrow());
         }
         return ResponseEntity.notFound().build();
     }
@@ -100,27 +453,177 @@ public class ProductController {
      * está siendo validado. Si no se coloca en el orden correcto, Spring no será
      * capaz de asociar los errores de validación con el objeto correspondiente.
      */
+    /*
+     * Con Prefer: respond-async (y app.products.ingest.enabled=true) el producto
+     * validado se encola para guardarse en lote y se responde 202 con la URL de
+     * seguimiento; si la cola está llena, 503 con Retry-After.
+     */
     @PostMapping
-    public ResponseEntity<?> create(@Valid @RequestBody Product product, BindingResult result) {
+    public ResponseEntity<?> create(@Valid @RequestBody Product product, BindingResult result,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
         // validation.validate(product, result);
         if (result.hasFieldErrors()) {
             return validation(result);
         }
 
+        ProductIngestQueue queue = ingestQueue.getIfAvailable();
+        if (queue != null && prefersAsync(prefer)) {
+            Optional<String> trackingId = queue.submit(product);
+            if (trackingId.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("error", "La cola de altas está llena, intente más tarde"));
+            }
+            IngestStatus status = IngestStatus.pending(trackingId.orElseThrow());
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                            .path("/ingest/{trackingId}")
+                            .buildAndExpand(status.trackingId())
+                            .toUri())
+                    .header("Preference-Applied", "respond-async")
+                    .body(status);
+        }
+
         Product productNew = service.save(product);
-        return ResponseEntity.status(HttpStatus.CREATED).body(productNew);
+        return withValidators(ResponseEntity.status(HttpStatus.CREATED), productNew);
+    }
+
+    /*
+     * Flujo de cambios (outbox product_changes, app.products.changes.enabled).
+     * since es el offset del último cambio recibido; al reconectar, el
+     * navegador o el cliente SSE envía Last-Event-ID, que tiene prioridad. Sin
+     * ninguno de los dos se empieza por el último cambio (solo llegan los
+     * nuevos). Si los cambios posteriores a since ya se purgaron se responde
+     * 410 y el consumidor debe volver a listar los productos.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> changes(@RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        ProductChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Long from = changesSince(since, lastEventId);
+        if (from == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (changeLog.getObject().isExpired(from)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(feed.subscribe(from));
     }
 
+    /*
+     * La misma consulta en lotes JSON para consumidores que sondean: devuelve
+     * como máximo limit cambios posteriores a since y el offset para la
+     * siguiente petición.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> changesPage(@RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Integer limit) {
+        ProductChangeLog log = changeLog.getIfAvailable();
+        if (log == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Long from = changesSince(since, lastEventId);
+        if (from == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("Last-Event-ID", "El campo Last-Event-ID debe ser un offset"));
+        }
+        if (log.isExpired(from)) {
+            return ResponseEntity.status(HttpStatus.GONE).body(
+                    Map.of("since", "El campo since apunta a cambios ya eliminados, vuelva a listar los productos"));
+        }
+        List<ProductChange> changes = log.read(from, limit == null ? defaultPageSize : Math.min(limit, maxPageSize));
+        long next = changes.isEmpty() ? from : changes.get(changes.size() - 1).offset();
+        return ResponseEntity.ok(new ProductChangePage(changes, next));
+    }
+
+    @GetMapping("/ingest/{trackingId}")
+    public ResponseEntity<?> ingestStatus(@PathVariable String trackingId) {
+        ProductIngestQueue queue = ingestQueue.getIfAvailable();
+        Optional<IngestStatus> status = queue == null ? Optional.empty() : queue.status(trackingId);
+        if (status.isPresent()) {
+            return ResponseEntity.ok(status.orElseThrow());
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /*
+     * Con If-Match la actualización es optimista: solo se aplica si el producto
+     * sigue en la versión del ETag enviado, y en otro caso se responde 412. Sin
+     * la cabecera (o con If-Match: *) se conserva la actualización incondicional.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@Valid @RequestBody Product product, BindingResult result,
-            @PathVariable Long id) {
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // validation.validate(product, result);
         if (result.hasFieldErrors()) {
             return validation(result);
         }
-        Optional<Product> productOptional = service.update(id, product);
+        Optional<Product> productOptional;
+        Long expectedVersion = expectedVersion(ifMatch, id);
+        if (expectedVersion == null) {
+            productOptional = service.update(id, product);
+        } else if (expectedVersion == ProductETags.NO_MATCH) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } else {
+            productOptional = service.update(id, product, expectedVersion);
+        }
         if (productOptional.isPresent()) {
-            return ResponseEntity.status(HttpStatus.CREATED).body(productOptional.orElseThrow());
+            return withValidators(ResponseEntity.status(HttpStatus.CREATED), productOptional.orElseThrow());
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /*
+     * Actualización parcial: solo se validan y se escriben las propiedades
+     * presentes en el cuerpo. Admite If-Match igual que PUT.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(@RequestBody Map<String, Object> body, @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, String> errors = new HashMap<>();
+        body.keySet().stream()
+                .filter(field -> !PATCHABLE_FIELDS.contains(field))
+                .forEach(field -> errors.put(field, "El campo " + field + " no se puede modificar"));
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Product product;
+        try {
+            product = objectMapper.convertValue(body, Product.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("json", String.valueOf(e.getMessage())));
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : PATCHABLE_FIELDS) {
+            if (!body.containsKey(field)) {
+                continue;
+            }
+            for (ConstraintViolation<Product> violation : validator.validateProperty(product, field)) {
+                errors.put(field, "El campo " + field + " " + violation.getMessage());
+            }
+            changes.put(field, switch (field) {
+                case "sku" -> product.getSku();
+                case "name" -> product.getName();
+                case "price" -> product.getPrice();
+                default -> product.getDescription();
+            });
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Long expectedVersion = expectedVersion(ifMatch, id);
+        if (expectedVersion != null && expectedVersion == ProductETags.NO_MATCH) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Optional<Product> productOptional = service.patch(id, changes, expectedVersion);
+        if (productOptional.isPresent()) {
+            return withValidators(ResponseEntity.ok(), productOptional.orElseThrow());
         }
         return ResponseEntity.notFound().build();
     }
@@ -134,6 +637,188 @@ public class ProductController {
         return ResponseEntity.notFound().build();
     }
 
+    /*
+     * Endpoints en lote. El cuerpo puede ser un arreglo JSON o un flujo NDJSON
+     * (un elemento por línea); en ambos casos se lee elemento por elemento y se
+     * envía al servicio en bloques de app.products.batch.chunk-size, de modo que
+     * nunca se tiene el lote completo en memoria. Cada elemento se valida con las
+     * mismas reglas que el endpoint individual y la respuesta informa el
+     * resultado de cada uno según su posición en la petición.
+     */
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public ResponseEntity<List<BatchItemResult>> createBatch(InputStream body) throws IOException {
+        Set<String> skus = new HashSet<>();
+        return batch(objectMapper.readerFor(Product.class).readValues(body), product -> {
+            Map<String, String> errors = validate(product);
+            if (product.getSku() != null && !skus.add(product.getSku())) {
+                errors.put("sku", "El campo sku está repetido en el lote");
+            }
+            return errors;
+        }, service::saveAll);
+    }
+
+    @PutMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public ResponseEntity<List<BatchItemResult>> updateBatch(InputStream body) throws IOException {
+        return batch(objectMapper.readerFor(Product.class).readValues(body), product -> {
+            Map<String, String> errors = validate(product);
+            if (product.getId() == null) {
+                errors.put("id", "El campo id no puede ser nulo!");
+            }
+            return errors;
+        }, service::updateAll);
+    }
+
+    @DeleteMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public ResponseEntity<List<BatchItemResult>> deleteBatch(InputStream body) throws IOException {
+        return batch(objectMapper.readerFor(Long.class).readValues(body), id -> {
+            Map<String, String> errors = new HashMap<>();
+            if (id == null) {
+                errors.put("id", "El campo id no puede ser nulo!");
+            }
+            return errors;
+        }, service::deleteAll);
+    }
+
+    private <T> ResponseEntity<List<BatchItemResult>> batch(MappingIterator<T> items,
+            Function<T, Map<String, String>> validation,
+            Function<List<T>, List<BatchItemResult>> operation) throws IOException {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> positions = new ArrayList<>(batchChunkSize);
+        int index = 0;
+
+        try (items) {
+            while (items.hasNextValue()) {
+                T item = items.nextValue();
+                Map<String, String> errors = validation.apply(item);
+                if (errors.isEmpty()) {
+                    chunk.add(item);
+                    positions.add(index);
+                } else {
+                    results.add(BatchItemResult.invalid(null, errors).at(index));
+                }
+                index++;
+                if (chunk.size() == batchChunkSize) {
+                    flush(chunk, positions, operation, results);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            results.add(BatchItemResult.invalid(null, Map.of("json", e.getOriginalMessage())).at(index));
+        }
+        flush(chunk, positions, operation, results);
+
+        results.sort(Comparator.comparingInt(BatchItemResult::index));
+        boolean allSuccessful = results.stream().allMatch(BatchItemResult::isSuccessful);
+        return ResponseEntity.status(allSuccessful ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    private static <T> void flush(List<T> chunk, List<Integer> positions,
+            Function<List<T>, List<BatchItemResult>> operation, List<BatchItemResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<BatchItemResult> chunkResults = operation.apply(new ArrayList<>(chunk));
+        for (int i = 0; i < chunkResults.size(); i++) {
+            results.add(chunkResults.get(i).at(positions.get(i)));
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    /*
+     * Misma forma de error que validation(BindingResult), para elementos que no
+     * pasan por el binding de Spring MVC.
+     */
+    private Map<String, String> validate(Product product) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<Product> violation : validator.validate(product)) {
+            String field = violation.getPropertyPath().toString();
+            errors.put(field, "El campo " + field + " " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    /*
+     * Si dos peticiones con el mismo sku pasan la validación a la vez, la
+     * restricción única de la tabla rechaza la segunda. Se responde con el mismo
+     * 400 que habría dado @IsExistsDB.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (UniqueSku.isViolation(ex)) {
+            return ResponseEntity.badRequest().body(Map.of("sku", UniqueSku.ERROR_MESSAGE));
+        }
+        throw ex;
+    }
+
+    /*
+     * La versión de la fila ya no es la que el cliente envió en If-Match (o una
+     * escritura concurrente se adelantó durante el flush).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    /* Offset desde el que leer cambios; null si Last-Event-ID no es un número */
+    private Long changesSince(Long since, String lastEventId) {
+        if (lastEventId != null) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return since != null ? since : changeLog.getObject().lastOffset();
+    }
+
+    /* Primer formato del catálogo presente en Accept; un comodín no elige ninguno */
+    private static Optional<CatalogFormat> acceptedFormat(String accept) {
+        if (accept == null) {
+            return Optional.empty();
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .map(CatalogFormat::of)
+                    .flatMap(Optional::stream)
+                    .findFirst();
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase("respond-async")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * null si la petición es incondicional (sin If-Match o con If-Match: *).
+     */
+    private static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ProductETags.expectedVersion(ifMatch, id);
+    }
+
+    private static ResponseEntity<Product> withValidators(ResponseEntity.BodyBuilder response, Product product) {
+        if (product.getVersion() != null) {
+            response.eTag(ProductETags.of(product));
+        }
+        if (product.getUpdatedAt() != null) {
+            response.lastModified(product.getUpdatedAt());
+        }
+        return response.body(product);
+    }
+
     private ResponseEntity<?> validation(BindingResult result) {
         Map<String, String> errors = new HashMap<>();
 
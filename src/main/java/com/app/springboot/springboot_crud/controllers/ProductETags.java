@@ -0,0 +1,73 @@
+package com.app.springboot.springboot_crud.controllers;
+
+import java.util.List;
+
+import com.app.springboot.springboot_crud.dto.ProductView;
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * ETags fuertes de los productos.
+ *
+ * La etiqueta de un producto es "id-version": la columna version aumenta en
+ * cada escritura, así que dos respuestas con la misma etiqueta tienen
+ * exactamente el mismo contenido. La de una página del listado se calcula a
+ * partir de los pares (id, version) de sus filas y de los parámetros de la
+ * petición (cursor, tamaño y campos).
+ *
+ * También la usa ReactiveProductController (perfil Maven reactive).
+ */
+public final class ProductETags {
+
+    /* Ninguna versión coincide: la etiqueta de If-Match no es de este producto. */
+    public static final long NO_MATCH = -1;
+
+    private ProductETags() {
+    }
+
+    public static String of(Product product) {
+        return "\"" + product.getId() + "-" + product.getVersion() + "\"";
+    }
+
+    static String ofPage(List<ProductView> products, String variant) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, variant.hashCode());
+        for (ProductView product : products) {
+            hash = mix(hash, product.id());
+            hash = mix(hash, product.version() == null ? 0 : product.version());
+        }
+        return "\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    /*
+     * Devuelve la versión esperada según la cabecera If-Match, o NO_MATCH si
+     * ninguna de las etiquetas corresponde a este producto. Las etiquetas débiles
+     * (W/) nunca coinciden en If-Match.
+     */
+    public static long expectedVersion(String ifMatch, Long id) {
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    // etiqueta con otro formato: se ignora
+                }
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.app.springboot.springboot_crud.datasource;
+
+/**
+ * Lecturas de la propia sesión después de una escritura.
+ *
+ * Mientras el hilo actual tenga una marca vigente, ReplicaPool entrega
+ * conexiones del primario también a las transacciones de solo lectura, así
+ * que una sesión lee lo que acaba de escribir aunque las réplicas vayan con
+ * retraso. En las peticiones HTTP la marca la pone y la quita
+ * ReadYourWritesFilter a partir de su cookie; fuera de ellas se usa
+ * pinUntil/clear directamente.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /* Las lecturas van al primario hasta el instante indicado (epoch millis) */
+    public static void pinUntil(long epochMillis) {
+        PRIMARY_UNTIL.set(epochMillis);
+    }
+
+    public static boolean isPinned() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && System.currentTimeMillis() < until;
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.app.springboot.springboot_crud.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Origen de las conexiones de solo lectura: reparte las transacciones
+ * readOnly entre las réplicas (round robin) y recurre al primario cuando no
+ * hay ninguna disponible o la sesión debe leer sus propias escrituras
+ * (ReadYourWrites).
+ *
+ * Un hilo comprueba cada check-interval cada réplica con lag-query (por
+ * defecto SHOW REPLICA STATUS de MariaDB, columna Seconds_Behind_Master). Una
+ * réplica sale del reparto si no responde, si la replicación está detenida o
+ * si su retraso supera max-lag, y vuelve en cuanto la comprobación la da por
+ * buena. Con lag-query vacío solo se comprueba que la conexión sea válida.
+ *
+ * Métricas: products.datasource.reads (tag target=replica|primary) y
+ * products.datasource.replica.lag (segundos, tag replica).
+ */
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    static final class Replica {
+
+        final String name;
+
+        final HikariDataSource dataSource;
+
+        volatile boolean available = true;
+
+        volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+
+    private final Counter primaryReads;
+
+    private final ScheduledExecutorService monitor;
+
+    public ReplicaPool(DataSource primary, List<HikariDataSource> replicas, String lagQuery, Duration maxLag,
+            Duration checkInterval, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ds -> new Replica(ds.getPoolName(), ds)).toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.replicaReads = reads(registry, "replica");
+        this.primaryReads = reads(registry, "primary");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("products.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Retraso de la réplica según la última comprobación")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        this.monitor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkAll();
+        monitor.scheduleWithFixedDelay(this::checkAll, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.isPinned()) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.available = false;
+                    log.warn("Réplica {} fuera del reparto: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Las réplicas usan las credenciales configuradas");
+    }
+
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    void checkAll() {
+        for (Replica replica : replicas) {
+            boolean available = check(replica);
+            if (available != replica.available) {
+                log.info("Réplica {} {} (retraso {}s)", replica.name, available ? "disponible" : "fuera del reparto",
+                        replica.lagSeconds);
+            }
+            replica.available = available;
+        }
+    }
+
+    private boolean check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                replica.lagSeconds = 0;
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return false;
+                }
+                long lag = rs.getLong(LAG_COLUMN);
+                if (rs.wasNull()) {
+                    // replicación detenida
+                    replica.lagSeconds = Double.NaN;
+                    return false;
+                }
+                replica.lagSeconds = lag;
+                return lag * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            replica.lagSeconds = Double.NaN;
+            return false;
+        }
+    }
+
+    private static Counter reads(MeterRegistry registry, String target) {
+        return Counter.builder("products.datasource.reads")
+                .description("Conexiones entregadas a transacciones de solo lectura")
+                .tag("target", target)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de un elemento dentro de una operación en lote. El índice es la
+ * posición del elemento en el cuerpo de la petición, de modo que el cliente
+ * puede relacionar cada resultado con lo que envió.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, Long id, Status status, Map<String, String> errors) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, FAILED
+    }
+
+    public static BatchItemResult of(Long id, Status status) {
+        return new BatchItemResult(0, id, status, null);
+    }
+
+    public static BatchItemResult invalid(Long id, Map<String, String> errors) {
+        return new BatchItemResult(0, id, Status.INVALID, errors);
+    }
+
+    public static BatchItemResult failed(Long id, String message) {
+        return new BatchItemResult(0, id, Status.FAILED, Map.of("error", message));
+    }
+
+    public BatchItemResult at(int index) {
+        return new BatchItemResult(index, id, status, errors);
+    }
+
+    public boolean isSuccessful() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+}
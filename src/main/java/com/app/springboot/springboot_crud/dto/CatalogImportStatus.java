@@ -0,0 +1,23 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * Progreso de una importación del catálogo. bytesRead/bytes indica cuánto del
+ * archivo se ha leído; rows cuenta los registros leídos y created, invalid y
+ * failed su resultado. errors lleva los primeros registros rechazados (index
+ * es la posición del registro en el archivo, desde 1). error explica por qué
+ * se interrumpió una importación FAILED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CatalogImportStatus(String importId, State state, String format, long bytes, long bytesRead,
+        long rows, long created, long invalid, long failed, List<BatchItemResult> errors, Instant startedAt,
+        Instant finishedAt, String error) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
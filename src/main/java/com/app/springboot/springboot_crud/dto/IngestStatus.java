@@ -0,0 +1,32 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Estado de un producto recibido en modo asíncrono (Prefer: respond-async).
+ * Empieza en PENDING y pasa a CREATED con el id asignado, o a INVALID/FAILED
+ * con los errores, cuando el escritor en segundo plano guarda su lote.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IngestStatus(String trackingId, State state, Long id, Map<String, String> errors) {
+
+    public enum State {
+        PENDING, CREATED, INVALID, FAILED
+    }
+
+    public static IngestStatus pending(String trackingId) {
+        return new IngestStatus(trackingId, State.PENDING, null, null);
+    }
+
+    public static IngestStatus of(String trackingId, BatchItemResult result) {
+        State state = switch (result.status()) {
+            case CREATED -> State.CREATED;
+            case INVALID -> State.INVALID;
+            default -> State.FAILED;
+        };
+        return new IngestStatus(trackingId, state, result.id(), result.errors());
+    }
+
+}
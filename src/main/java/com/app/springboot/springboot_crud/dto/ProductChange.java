@@ -0,0 +1,17 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.time.Instant;
+
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Cambio de un producto tal como lo reciben los consumidores de
+ * /api/products/changes. product es el JSON guardado en el outbox (ausente en
+ * las bajas).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductChange(long offset, ProductChangedEvent.Type type, Long id, @JsonRawValue String product,
+        Instant changedAt) {
+}
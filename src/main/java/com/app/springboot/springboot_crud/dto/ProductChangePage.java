@@ -0,0 +1,10 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.util.List;
+
+/**
+ * Lote de cambios de GET /api/products/changes en JSON. next es el offset que
+ * se debe enviar como since en la siguiente petición.
+ */
+public record ProductChangePage(List<ProductChange> changes, long next) {
+}
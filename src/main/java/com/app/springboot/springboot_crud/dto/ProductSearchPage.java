@@ -0,0 +1,12 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.util.List;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/*
+ * Página de resultados de la búsqueda: total es el número de productos que
+ * cumplen los filtros, no solo los de esta página.
+ */
+public record ProductSearchPage(List<Product> items, long total, int page, int size) {
+}
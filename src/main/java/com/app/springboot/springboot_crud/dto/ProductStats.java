@@ -0,0 +1,17 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Agregados del catálogo. minPrice, maxPrice y averagePrice son null si ningún
+ * producto tiene precio. Cada tramo del histograma cuenta los precios en
+ * [from, to); from es null en el primero y to en el último. verifiedAt es el
+ * momento del último recálculo completo.
+ */
+public record ProductStats(long count, Integer minPrice, Integer maxPrice, Double averagePrice, long totalPrice,
+        List<PriceBucket> histogram, Instant verifiedAt) {
+
+    public record PriceBucket(Integer from, Integer to, long count) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.springboot.springboot_crud.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Modelo de lectura del listado. Se construye directamente desde la consulta
+ * (expresión constructora JPQL o fila JDBC), sin pasar por una entidad
+ * administrada. Con ?fields= las propiedades no pedidas quedan en null y no se
+ * escriben en el JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductView(Long id, String sku, String name, Integer price, String description, Long version,
+        Instant updatedAt) {
+
+    /* Propiedades que admite ?fields=, en el orden del JSON */
+    public static final List<String> FIELDS = List.of("id", "sku", "name", "price", "description", "version",
+            "updatedAt");
+
+}
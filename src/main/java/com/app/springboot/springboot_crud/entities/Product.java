@@ -1,13 +1,25 @@
 package com.app.springboot.springboot_crud.entities;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.hibernate.annotations.ColumnDefault;
+
 import com.app.springboot.springboot_crud.validation.IsExistsDB;
 import com.app.springboot.springboot_crud.validation.IsRequired;
+import com.app.springboot.springboot_crud.validation.UniqueSku;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 // import jakarta.validation.constraints.NotBlank;
 // import jakarta.validation.constraints.NotEmpty;
@@ -15,7 +27,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = UniqueSku.CONSTRAINT_NAME, columnNames = "sku"))
 public class Product {
 
     @Id
@@ -40,6 +52,26 @@ public class Product {
     @IsRequired
     private String description;
 
+    /*
+     * Versión para control de concurrencia optimista: Hibernate la incrementa en
+     * cada UPDATE y la usa en el WHERE, y el API la expone como ETag. Es de solo
+     * lectura para los clientes.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     public Long getId() {
         return id;
     }
@@ -80,4 +112,20 @@ public class Product {
         this.sku = sku;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
 }
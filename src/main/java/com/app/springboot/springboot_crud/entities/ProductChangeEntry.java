@@ -0,0 +1,64 @@
+package com.app.springboot.springboot_crud.entities;
+
+import java.time.Instant;
+
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Fila del outbox de cambios de productos (tabla product_changes). Se escribe
+ * con JDBC en la misma transacción que el cambio (ProductChangeLog); la
+ * entidad solo define la tabla para que Hibernate la cree.
+ *
+ * offset es la posición en el flujo: consecutiva, sin huecos salvo los de las
+ * filas ya purgadas, y en el mismo orden en que se confirmaron los cambios.
+ */
+@Entity
+@Table(name = "product_changes")
+public class ProductChangeEntry {
+
+    @Id
+    @Column(name = "change_offset")
+    private Long offset;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductChangedEvent.Type type;
+
+    /* JSON del producto tras el cambio; null en las bajas */
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public ProductChangedEvent.Type getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.app.springboot.springboot_crud.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Último offset asignado en product_changes (una sola fila, id = 1). Cada
+ * transacción que escribe en el outbox bloquea esta fila hasta su commit, así
+ * que los offsets se hacen visibles en orden.
+ */
+@Entity
+@Table(name = "product_change_sequence")
+public class ProductChangeSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastOffset;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getLastOffset() {
+        return lastOffset;
+    }
+
+}
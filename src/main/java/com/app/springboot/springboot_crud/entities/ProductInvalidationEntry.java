@@ -0,0 +1,78 @@
+package com.app.springboot.springboot_crud.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Mensaje de invalidación entre instancias (tabla product_invalidations). Lo
+ * escribe y lo lee JdbcInvalidationTransport con JDBC; la entidad solo define
+ * la tabla para que Hibernate la cree.
+ *
+ * version es la versión del producto tras el cambio; en las bajas deleted es
+ * true y previousSku lleva el sku eliminado.
+ */
+@Entity
+@Table(name = "product_invalidations")
+public class ProductInvalidationEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    private String previousSku;
+
+    private String sku;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public String getPreviousSku() {
+        return previousSku;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+}
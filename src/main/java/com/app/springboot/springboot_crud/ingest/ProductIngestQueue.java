@@ -0,0 +1,227 @@
+package com.app.springboot.springboot_crud.ingest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.IngestStatus;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cola de escritura diferida para las altas con Prefer: respond-async.
+ *
+ * El controlador valida el producto y lo encola; la petición termina con 202
+ * y un id de seguimiento. Un único hilo escritor junta los productos
+ * pendientes en lotes de hasta batch-size (esperando como máximo max-delay a
+ * que el lote se llene) y los guarda con ProductService.saveAll, de modo que
+ * una ráfaga de altas se convierte en pocas transacciones con INSERT
+ * agrupados en lugar de una transacción por petición.
+ *
+ * La cola es una ConcurrentLinkedQueue acotada con un contador atómico: los
+ * productores reservan lugar con compareAndSet y nunca se bloquean. Si no hay
+ * lugar, submit devuelve vacío y el controlador responde 503 con Retry-After.
+ *
+ * Al detener la aplicación (después de que el servidor web terminó las
+ * peticiones en curso, ver getPhase) se dejan de aceptar productos y el
+ * escritor guarda todo lo pendiente antes de salir.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.ingest.enabled", havingValue = "true")
+public class ProductIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIngestQueue.class);
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.products.ingest.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.products.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.products.ingest.max-delay:50ms}")
+    private Duration maxDelay;
+
+    @Value("${app.products.ingest.status-retention:10m}")
+    private Duration statusRetention;
+
+    @Value("${app.products.ingest.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /* Ids de seguimiento cortos: prefijo por arranque más un contador */
+    private final String prefix = Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Cache<String, IngestStatus> statuses;
+
+    private Counter rejected;
+
+    private Thread writer;
+
+    private volatile boolean accepting;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        statuses = Caffeine.newBuilder().expireAfterWrite(statusRetention).build();
+        Gauge.builder("products.ingest.queue.size", size, AtomicInteger::get)
+                .description("Productos aceptados pendientes de guardar")
+                .register(registry);
+        rejected = Counter.builder("products.ingest.rejected")
+                .description("Altas asíncronas rechazadas por cola llena")
+                .register(registry);
+    }
+
+    /*
+     * Encola el producto y devuelve su id de seguimiento, o vacío si la cola
+     * está llena o la aplicación se está deteniendo.
+     */
+    public Optional<String> submit(Product product) {
+        int reserved;
+        do {
+            reserved = size.get();
+            if (!accepting || reserved >= capacity) {
+                rejected.increment();
+                return Optional.empty();
+            }
+        } while (!size.compareAndSet(reserved, reserved + 1));
+
+        String trackingId = prefix + sequence.incrementAndGet();
+        statuses.put(trackingId, IngestStatus.pending(trackingId));
+        queue.offer(new Pending(trackingId, product));
+        if (reserved == 0 || reserved + 1 >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return Optional.of(trackingId);
+    }
+
+    public Optional<IngestStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+        writer = Thread.ofPlatform().name("product-ingest").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("La cola de altas no terminó de guardarse: {} productos pendientes", size.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /*
+     * Se detiene después del servidor web (WebServerStartStopLifecycle usa
+     * DEFAULT_PHASE - 2048), cuando ya no llegan peticiones, y antes de que se
+     * cierre el DataSource.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        long maxDelayNanos = maxDelay.toNanos();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (true) {
+            drainTo(batch);
+            if (batch.isEmpty()) {
+                // size incluye los lugares reservados cuyo offer todavía no llegó
+                if (!running && size.get() == 0) {
+                    return;
+                }
+                LockSupport.parkNanos(this, running ? TimeUnit.MILLISECONDS.toNanos(100) : TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            long deadline = System.nanoTime() + maxDelayNanos;
+            while (running && batch.size() < batchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+                drainTo(batch);
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainTo(List<Pending> batch) {
+        Pending pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(pending);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            List<BatchItemResult> results = service.saveAll(batch.stream().map(Pending::product).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                String trackingId = batch.get(i).trackingId();
+                statuses.put(trackingId, IngestStatus.of(trackingId, results.get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudo guardar un lote de {} productos", batch.size(), e);
+            for (Pending pending : batch) {
+                statuses.put(pending.trackingId(), IngestStatus.of(pending.trackingId(),
+                        BatchItemResult.failed(null, String.valueOf(e.getMessage()))));
+            }
+        }
+    }
+
+    private record Pending(String trackingId, Product product) {
+    }
+
+}
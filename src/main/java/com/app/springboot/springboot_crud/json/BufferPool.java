@@ -0,0 +1,51 @@
+package com.app.springboot.springboot_crud.json;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado de JsonBuffer compartido por todos los hilos. No usa
+ * ThreadLocal: con hilos virtuales cada petición tendría su propio buffer y
+ * no habría reutilización. Los buffers que crecieron por encima de
+ * maxRetainedCapacity (respuestas muy grandes) no se devuelven al pool.
+ */
+final class BufferPool {
+
+    private final ConcurrentLinkedQueue<JsonBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private final int maxPooled;
+
+    private final int initialCapacity;
+
+    private final int maxRetainedCapacity;
+
+    BufferPool(int maxPooled, int initialCapacity, int maxRetainedCapacity) {
+        this.maxPooled = maxPooled;
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    JsonBuffer acquire() {
+        JsonBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new JsonBuffer(initialCapacity);
+        }
+        pooled.decrementAndGet();
+        buffer.reset();
+        return buffer;
+    }
+
+    void release(JsonBuffer buffer) {
+        if (buffer.capacity() > maxRetainedCapacity) {
+            return;
+        }
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.app.springboot.springboot_crud.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes reutilizable con las primitivas de escritura JSON que usa
+ * ProductJsonCodec. Escribe números, cadenas e instantes directamente como
+ * UTF-8, sin crear String intermedios, con el mismo escapado que el
+ * UTF8JsonGenerator de Jackson en su configuración por defecto.
+ */
+final class JsonBuffer {
+
+    /*
+     * Escapes de los caracteres ASCII: 0 se escribe tal cual, -1 como \\u00XX y
+     * cualquier otro valor como barra invertida seguida de ese carácter.
+     */
+    private static final int[] ESCAPES = new int[128];
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private byte[] bytes;
+
+    private int size;
+
+    JsonBuffer(int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+        size = 0;
+    }
+
+    void readFrom(InputStream in) throws IOException {
+        size = 0;
+        int read;
+        while ((read = in.read(bytes, size, bytes.length - size)) != -1) {
+            size += read;
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+        }
+    }
+
+    void write(byte b) {
+        ensure(1);
+        bytes[size++] = b;
+    }
+
+    void write(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, bytes, size, b.length);
+        size += b.length;
+    }
+
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = size + digits;
+        for (int i = end - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size = end;
+    }
+
+    /*
+     * Cadena JSON entre comillas. Como Jackson 2.17, los caracteres fuera del
+     * plano básico no se combinan en una secuencia UTF-8 de 4 bytes: cada
+     * surrogate se escribe escapado como \\uXXXX.
+     */
+    void writeString(String value) {
+        int length = value.length();
+        ensure(length * 6 + 2);
+        byte[] b = bytes;
+        int p = size;
+        b[p++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                int escape = ESCAPES[c];
+                if (escape == 0) {
+                    b[p++] = (byte) c;
+                } else if (escape > 0) {
+                    b[p++] = '\\';
+                    b[p++] = (byte) escape;
+                } else {
+                    b[p++] = '\\';
+                    b[p++] = 'u';
+                    b[p++] = '0';
+                    b[p++] = '0';
+                    b[p++] = HEX[c >> 4];
+                    b[p++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '\\';
+                b[p++] = 'u';
+                b[p++] = HEX[c >> 12];
+                b[p++] = HEX[(c >> 8) & 0xF];
+                b[p++] = HEX[(c >> 4) & 0xF];
+                b[p++] = HEX[c & 0xF];
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        b[p++] = '"';
+        size = p;
+    }
+
+    /*
+     * Mismo texto que Instant.toString() (DateTimeFormatter.ISO_INSTANT, que es
+     * lo que escribe el InstantSerializer de Jackson): fracción en grupos de 3
+     * dígitos y solo si no es cero. Los años fuera de 0000-9999 usan toString().
+     */
+    void writeInstant(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        long days = Math.floorDiv(seconds, 86_400);
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400);
+
+        // días desde 1970-01-01 a fecha civil (algoritmo de H. Hinnant)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            writeString(instant.toString());
+            return;
+        }
+
+        ensure(32);
+        bytes[size++] = '"';
+        digits(year, 4);
+        bytes[size++] = '-';
+        digits(month, 2);
+        bytes[size++] = '-';
+        digits(day, 2);
+        bytes[size++] = 'T';
+        digits(secondOfDay / 3600, 2);
+        bytes[size++] = ':';
+        digits(secondOfDay / 60 % 60, 2);
+        bytes[size++] = ':';
+        digits(secondOfDay % 60, 2);
+        int nanos = instant.getNano();
+        if (nanos != 0) {
+            bytes[size++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                digits(nanos / 1_000_000, 3);
+            } else if (nanos % 1000 == 0) {
+                digits(nanos / 1000, 6);
+            } else {
+                digits(nanos, 9);
+            }
+        }
+        bytes[size++] = 'Z';
+        bytes[size++] = '"';
+    }
+
+    private void digits(long value, int width) {
+        for (int i = size + width - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += width;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+
+    /*
+     * Entrada que el codec no lee igual que Jackson; quien lo llama recurre a
+     * Jackson.
+     */
+    static final class Unsupported extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
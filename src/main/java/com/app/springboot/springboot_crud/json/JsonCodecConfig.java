@@ -0,0 +1,25 @@
+package com.app.springboot.springboot_crud.json;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Con app.products.json.codec=precompiled, las respuestas y cuerpos de
+ * Product se codifican con ProductJsonHttpMessageConverter. Spring Boot
+ * coloca los HttpMessageConverter declarados como bean delante de los
+ * conversores por defecto, así que tiene prioridad sobre Jackson. Con el
+ * valor jackson (por defecto) no se registra nada.
+ */
+@Configuration
+public class JsonCodecConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.products.json.codec", havingValue = "precompiled")
+    public ProductJsonHttpMessageConverter productJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ProductJsonHttpMessageConverter(objectMapper);
+    }
+
+}
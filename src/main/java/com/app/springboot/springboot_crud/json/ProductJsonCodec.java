@@ -0,0 +1,402 @@
+package com.app.springboot.springboot_crud.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import com.app.springboot.springboot_crud.dto.ProductView;
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Codificación JSON de Product y ProductView escrita a mano, sin reflexión.
+ *
+ * La salida es idéntica byte a byte a la del ObjectMapper de Spring Boot:
+ * propiedades en orden de declaración, sin espacios, null explícito en
+ * Product y omitido en ProductView (@JsonInclude NON_NULL), fechas ISO-8601
+ * y el mismo escapado de cadenas.
+ * Los nombres de las propiedades se codifican una sola vez.
+ *
+ * El lector solo cubre la forma habitual de un Product: cualquier cosa que
+ * Jackson trataría de forma especial (coerciones, números con decimales,
+ * valores anidados, UTF-8 inválido) lanza JsonBuffer.Unsupported para que el
+ * conversor delegue en Jackson y el resultado, o el error, sea el mismo.
+ */
+final class ProductJsonCodec {
+
+    private static final byte[] ID = ascii("\"id\":");
+    private static final byte[] SKU = ascii("\"sku\":");
+    private static final byte[] NAME = ascii("\"name\":");
+    private static final byte[] PRICE = ascii("\"price\":");
+    private static final byte[] DESCRIPTION = ascii("\"description\":");
+    private static final byte[] VERSION = ascii("\"version\":");
+    private static final byte[] UPDATED_AT = ascii("\"updatedAt\":");
+    private static final byte[] NULL = ascii("null");
+
+    private ProductJsonCodec() {
+    }
+
+    /*
+     * true si todos los elementos son Product, ProductView o null: solo en ese
+     * caso se puede escribir la colección completa con este codec.
+     */
+    static boolean supports(Collection<?> values) {
+        for (Object value : values) {
+            if (value != null && !(value instanceof Product) && !(value instanceof ProductView)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void write(Object value, JsonBuffer out) {
+        if (value instanceof Product product) {
+            write(product, out);
+        } else if (value instanceof ProductView view) {
+            write(view, out);
+        } else {
+            out.write(NULL);
+        }
+    }
+
+    static void write(Product product, JsonBuffer out) {
+        out.write((byte) '{');
+        out.write(ID);
+        writeLong(product.getId(), out);
+        out.write((byte) ',');
+        out.write(SKU);
+        writeString(product.getSku(), out);
+        out.write((byte) ',');
+        out.write(NAME);
+        writeString(product.getName(), out);
+        out.write((byte) ',');
+        out.write(PRICE);
+        writeLong(product.getPrice() == null ? null : product.getPrice().longValue(), out);
+        out.write((byte) ',');
+        out.write(DESCRIPTION);
+        writeString(product.getDescription(), out);
+        out.write((byte) ',');
+        out.write(VERSION);
+        writeLong(product.getVersion(), out);
+        out.write((byte) ',');
+        out.write(UPDATED_AT);
+        if (product.getUpdatedAt() == null) {
+            out.write(NULL);
+        } else {
+            out.writeInstant(product.getUpdatedAt());
+        }
+        out.write((byte) '}');
+    }
+
+    static void write(ProductView view, JsonBuffer out) {
+        out.write((byte) '{');
+        boolean first = true;
+        if (view.id() != null) {
+            first = name(ID, first, out);
+            out.writeLong(view.id());
+        }
+        if (view.sku() != null) {
+            first = name(SKU, first, out);
+            out.writeString(view.sku());
+        }
+        if (view.name() != null) {
+            first = name(NAME, first, out);
+            out.writeString(view.name());
+        }
+        if (view.price() != null) {
+            first = name(PRICE, first, out);
+            out.writeLong(view.price());
+        }
+        if (view.description() != null) {
+            first = name(DESCRIPTION, first, out);
+            out.writeString(view.description());
+        }
+        if (view.version() != null) {
+            first = name(VERSION, first, out);
+            out.writeLong(view.version());
+        }
+        if (view.updatedAt() != null) {
+            name(UPDATED_AT, first, out);
+            out.writeInstant(view.updatedAt());
+        }
+        out.write((byte) '}');
+    }
+
+    /*
+     * Lee un Product de b[0..length). version y updatedAt son de solo lectura y
+     * las propiedades desconocidas se ignoran, igual que con la configuración
+     * de Spring Boot (FAIL_ON_UNKNOWN_PROPERTIES desactivado).
+     */
+    static Product read(byte[] b, int length) {
+        Reader reader = new Reader(b, length);
+        Product product = new Product();
+        reader.expect('{');
+        if (!reader.consume('}')) {
+            do {
+                String key = reader.key();
+                reader.expect(':');
+                switch (key) {
+                    case "id" -> product.setId(reader.longValue());
+                    case "sku" -> product.setSku(reader.string());
+                    case "name" -> product.setName(reader.string());
+                    case "price" -> product.setPrice(reader.intValue());
+                    case "description" -> product.setDescription(reader.string());
+                    default -> reader.skipScalar();
+                }
+            } while (reader.consume(','));
+            reader.expect('}');
+        }
+        reader.end();
+        return product;
+    }
+
+    private static boolean name(byte[] name, boolean first, JsonBuffer out) {
+        if (!first) {
+            out.write((byte) ',');
+        }
+        out.write(name);
+        return false;
+    }
+
+    private static void writeLong(Long value, JsonBuffer out) {
+        if (value == null) {
+            out.write(NULL);
+        } else {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeString(String value, JsonBuffer out) {
+        if (value == null) {
+            out.write(NULL);
+        } else {
+            out.writeString(value);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Reader {
+
+        private final byte[] b;
+
+        private final int length;
+
+        private int p;
+
+        Reader(byte[] b, int length) {
+            this.b = b;
+            this.length = length;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw new JsonBuffer.Unsupported();
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (p < length && b[p] == c) {
+                p++;
+                return true;
+            }
+            return false;
+        }
+
+        void end() {
+            skipWhitespace();
+            if (p != length) {
+                throw new JsonBuffer.Unsupported();
+            }
+        }
+
+        /* Nombres de propiedad ASCII sin escapes */
+        String key() {
+            expect('"');
+            int start = p;
+            while (p < length && b[p] != '"') {
+                if (b[p] == '\\' || b[p] < 0x20) {
+                    throw new JsonBuffer.Unsupported();
+                }
+                p++;
+            }
+            if (p == length) {
+                throw new JsonBuffer.Unsupported();
+            }
+            return new String(b, start, p++ - start, StandardCharsets.ISO_8859_1);
+        }
+
+        String string() {
+            if (literal("null")) {
+                return null;
+            }
+            expect('"');
+            int start = p;
+            boolean ascii = true;
+            while (p < length && b[p] != '"') {
+                int c = b[p];
+                if (c == '\\') {
+                    return escapedString(start);
+                }
+                if (c >= 0 && c < 0x20) {
+                    throw new JsonBuffer.Unsupported();
+                }
+                ascii &= c >= 0;
+                p++;
+            }
+            if (p == length) {
+                throw new JsonBuffer.Unsupported();
+            }
+            String value = decode(start, p, ascii);
+            p++;
+            return value;
+        }
+
+        private String escapedString(int start) {
+            StringBuilder value = new StringBuilder(decode(start, p, false));
+            int segment = p;
+            while (p < length && b[p] != '"') {
+                int c = b[p];
+                if (c >= 0 && c < 0x20) {
+                    throw new JsonBuffer.Unsupported();
+                }
+                if (c != '\\') {
+                    p++;
+                    continue;
+                }
+                value.append(decode(segment, p, false));
+                if (p + 1 >= length) {
+                    throw new JsonBuffer.Unsupported();
+                }
+                byte escape = b[p + 1];
+                p += 2;
+                switch (escape) {
+                    case '"' -> value.append('"');
+                    case '\\' -> value.append('\\');
+                    case '/' -> value.append('/');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (p + 4 > length) {
+                            throw new JsonBuffer.Unsupported();
+                        }
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(b[p++], 16);
+                            if (digit < 0) {
+                                throw new JsonBuffer.Unsupported();
+                            }
+                            code = code << 4 | digit;
+                        }
+                        value.append((char) code);
+                    }
+                    default -> throw new JsonBuffer.Unsupported();
+                }
+                segment = p;
+            }
+            if (p == length) {
+                throw new JsonBuffer.Unsupported();
+            }
+            value.append(decode(segment, p, false));
+            p++;
+            return value.toString();
+        }
+
+        private String decode(int start, int end, boolean ascii) {
+            if (ascii) {
+                return new String(b, start, end - start, StandardCharsets.ISO_8859_1);
+            }
+            try {
+                return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(b, start, end - start)).toString();
+            } catch (CharacterCodingException e) {
+                throw new JsonBuffer.Unsupported();
+            }
+        }
+
+        Long longValue() {
+            if (literal("null")) {
+                return null;
+            }
+            skipWhitespace();
+            int start = p;
+            boolean negative = p < length && b[p] == '-';
+            if (negative) {
+                p++;
+            }
+            int digitsStart = p;
+            long value = 0;
+            while (p < length && b[p] >= '0' && b[p] <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10) {
+                    throw new JsonBuffer.Unsupported();
+                }
+                value = value * 10 + (b[p++] - '0');
+            }
+            int digits = p - digitsStart;
+            // sin dígitos, ceros a la izquierda, decimales o exponente: lo resuelve Jackson
+            if (digits == 0 || (digits > 1 && b[digitsStart] == '0')
+                    || (p < length && (b[p] == '.' || b[p] == 'e' || b[p] == 'E'))) {
+                throw new JsonBuffer.Unsupported();
+            }
+            if (p == start) {
+                throw new JsonBuffer.Unsupported();
+            }
+            return negative ? -value : value;
+        }
+
+        Integer intValue() {
+            Long value = longValue();
+            if (value != null && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+                throw new JsonBuffer.Unsupported();
+            }
+            return value == null ? null : value.intValue();
+        }
+
+        /* Valores de propiedades ignoradas: solo escalares */
+        void skipScalar() {
+            skipWhitespace();
+            if (p >= length) {
+                throw new JsonBuffer.Unsupported();
+            }
+            byte c = b[p];
+            if (c == '"') {
+                string();
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                longValue();
+            } else if (!literal("null") && !literal("true") && !literal("false")) {
+                throw new JsonBuffer.Unsupported();
+            }
+        }
+
+        private boolean literal(String literal) {
+            skipWhitespace();
+            if (p + literal.length() > length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (b[p + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            int next = p + literal.length();
+            if (next < length && Character.isLetterOrDigit(b[next])) {
+                return false;
+            }
+            p = next;
+            return true;
+        }
+
+        private void skipWhitespace() {
+            while (p < length && (b[p] == ' ' || b[p] == '\n' || b[p] == '\r' || b[p] == '\t')) {
+                p++;
+            }
+        }
+
+    }
+
+}
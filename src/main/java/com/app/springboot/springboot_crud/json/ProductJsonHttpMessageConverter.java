@@ -0,0 +1,155 @@
+package com.app.springboot.springboot_crud.json;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import com.app.springboot.springboot_crud.dto.ProductView;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Conversor HTTP para Product, ProductView y colecciones de ellos que usa
+ * ProductJsonCodec en lugar de la serialización reflexiva de Jackson. Se
+ * registra delante de MappingJackson2HttpMessageConverter (ver
+ * JsonCodecConfig).
+ *
+ * Las colecciones declaradas sin tipo (ResponseEntity<?>) se aceptan y se
+ * revisan al escribir; si alguna contiene otros tipos, se escribe con el mismo
+ * ObjectMapper. Al leer, lo que el codec no cubre también se delega. Si el
+ * ObjectMapper no usa la configuración por defecto de Spring Boot (por
+ * ejemplo INDENT_OUTPUT), el conversor se desactiva para no cambiar el
+ * formato.
+ */
+public class ProductJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductJsonHttpMessageConverter.class);
+
+    /* Por encima de este tamaño las listas se envían por partes */
+    private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final BufferPool pool = new BufferPool(256, 4 * 1024, 256 * 1024);
+
+    private final boolean compatible;
+
+    public ProductJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.compatible = isDefaultFormat(objectMapper);
+        if (!compatible) {
+            log.warn("El ObjectMapper no usa el formato por defecto; Product se serializa con Jackson");
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return compatible && (clazz == Product.class || clazz == ProductView.class
+                || Collection.class.isAssignableFrom(clazz));
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return compatible && clazz == Product.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type == Product.class && canRead(Product.class, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(clazz, mediaType)) {
+            return false;
+        }
+        if (type != null && Collection.class.isAssignableFrom(clazz)) {
+            Class<?> element = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+            return element == null || element == Object.class || element == Product.class
+                    || element == ProductView.class;
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (value instanceof Collection<?> values && !ProductJsonCodec.supports(values)) {
+            objectMapper.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), value);
+            return;
+        }
+        JsonBuffer buffer = pool.acquire();
+        try {
+            if (value instanceof Collection<?> values) {
+                buffer.write((byte) '[');
+                boolean first = true;
+                for (Object item : values) {
+                    if (!first) {
+                        buffer.write((byte) ',');
+                    }
+                    first = false;
+                    ProductJsonCodec.write(item, buffer);
+                    if (buffer.size() > FLUSH_THRESHOLD) {
+                        buffer.writeTo(outputMessage.getBody());
+                    }
+                }
+                buffer.write((byte) ']');
+            } else {
+                ProductJsonCodec.write(value, buffer);
+            }
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        JsonBuffer buffer = pool.acquire();
+        try {
+            buffer.readFrom(inputMessage.getBody());
+            try {
+                return ProductJsonCodec.read(buffer.array(), buffer.size());
+            } catch (JsonBuffer.Unsupported e) {
+                return objectMapper.readValue(buffer.array(), 0, buffer.size(), Product.class);
+            }
+        } catch (JsonProcessingException e) {
+            // mismo mensaje que MappingJackson2HttpMessageConverter
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e,
+                    inputMessage);
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        return readInternal(Product.class, inputMessage);
+    }
+
+    private static boolean isDefaultFormat(ObjectMapper objectMapper) {
+        JsonInclude.Include inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion()
+                .getValueInclusion();
+        return !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && !objectMapper.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                && (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS);
+    }
+
+}
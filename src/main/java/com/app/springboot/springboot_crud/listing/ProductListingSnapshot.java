@@ -0,0 +1,409 @@
+package com.app.springboot.springboot_crud.listing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Listado completo de productos ya serializado, para GET /api/products/stream
+ * (app.products.listing-cache.enabled=true).
+ *
+ * Cada producto se serializa una vez con el ObjectMapper de la aplicación y se
+ * guarda como byte[]; los productos, en orden de id, se agrupan en segmentos
+ * de unos segment-size productos con su JSON ya unido por comas. Una
+ * respuesta escribe esos arreglos tal cual, sin consultar la base de datos ni
+ * serializar nada. Con gzip, cada segmento guarda además su JSON comprimido
+ * como un miembro gzip independiente: el cuerpo comprimido es la
+ * concatenación de los miembros de los segmentos separados por los de "[",
+ * "," y "]" (RFC 1952 admite varios miembros seguidos).
+ *
+ * Los ProductChangedEvent confirmados se acumulan y un único hilo los aplica
+ * cada rebuild-delay: vuelve a serializar y comprimir solo los productos
+ * cambiados y sus segmentos, y publica una Snapshot nueva con la versión
+ * siguiente, que reutiliza los demás segmentos. Mientras tanto las peticiones
+ * siguen recibiendo la anterior, que es inmutable. Nunca se reemplaza un
+ * producto por una versión menor.
+ *
+ * Si la tabla supera max-products, al cargar o después, se descarta la copia y
+ * /stream vuelve a leer de la base de datos.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.listing-cache.enabled", havingValue = "true")
+public class ProductListingSnapshot implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductListingSnapshot.class);
+
+    record Row(long version, byte[] json) {
+    }
+
+    /*
+     * Productos consecutivos por id; json es rows unido por comas, gzip es json
+     * comprimido como un miembro gzip (null sin app.products.listing-cache.gzip)
+     * y ndjsonLength, la longitud de sus filas en NDJSON.
+     */
+    record Segment(byte[][] rows, byte[] json, byte[] gzip, long ndjsonLength) {
+    }
+
+    private static final byte[] GZIP_OPEN = compress(new byte[] { '[' });
+
+    private static final byte[] GZIP_COMMA = compress(new byte[] { ',' });
+
+    private static final byte[] GZIP_CLOSE = compress(new byte[] { ']' });
+
+    /**
+     * Listado en un instante dado. Todos sus arreglos son inmutables y se
+     * comparten entre peticiones.
+     */
+    public static final class Snapshot {
+
+        private final String tag;
+
+        private final List<Segment> segments;
+
+        private final long count;
+
+        private final long jsonLength;
+
+        private final long ndjsonLength;
+
+        private final long gzipLength;
+
+        /* Solo recorre los segmentos: sus longitudes ya están calculadas */
+        Snapshot(String tag, List<Segment> segments, boolean gzip) {
+            this.tag = tag;
+            this.segments = segments;
+            long count = 0;
+            long json = 2 + Math.max(0, segments.size() - 1);
+            long ndjson = 0;
+            long compressed = GZIP_OPEN.length + GZIP_CLOSE.length
+                    + (long) GZIP_COMMA.length * Math.max(0, segments.size() - 1);
+            for (Segment segment : segments) {
+                count += segment.rows().length;
+                json += segment.json().length;
+                ndjson += segment.ndjsonLength();
+                compressed += gzip ? segment.gzip().length : 0;
+            }
+            this.count = count;
+            this.jsonLength = json;
+            this.ndjsonLength = ndjson;
+            this.gzipLength = gzip ? compressed : -1;
+        }
+
+        /* ETag fuerte: cambia con cada versión y con cada representación */
+        public String etag(boolean ndjson, boolean gzip) {
+            return "\"" + tag + (ndjson ? "-nd" : "") + (gzip ? "-gz" : "") + "\"";
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long jsonLength() {
+            return jsonLength;
+        }
+
+        public long ndjsonLength() {
+            return ndjsonLength;
+        }
+
+        /* Longitud del cuerpo JSON comprimido, o -1 si app.products.listing-cache.gzip=false */
+        public long gzipLength() {
+            return gzipLength;
+        }
+
+        public void writeJson(OutputStream out) throws IOException {
+            out.write('[');
+            for (int i = 0; i < segments.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(segments.get(i).json());
+            }
+            out.write(']');
+        }
+
+        public void writeNdjson(OutputStream out) throws IOException {
+            for (Segment segment : segments) {
+                for (byte[] row : segment.rows()) {
+                    out.write(row);
+                    out.write('\n');
+                }
+            }
+        }
+
+        /* Cuerpo JSON comprimido: un miembro gzip por segmento y separador */
+        public void writeGzip(OutputStream out) throws IOException {
+            out.write(GZIP_OPEN);
+            for (int i = 0; i < segments.size(); i++) {
+                if (i > 0) {
+                    out.write(GZIP_COMMA);
+                }
+                out.write(segments.get(i).gzip());
+            }
+            out.write(GZIP_CLOSE);
+        }
+    }
+
+    @Autowired
+    private ProductJdbcRepository jdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.products.listing-cache.max-products:200000}")
+    private int maxProducts;
+
+    @Value("${app.products.listing-cache.segment-size:512}")
+    private int segmentSize;
+
+    @Value("${app.products.listing-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${app.products.listing-cache.rebuild-delay:50ms}")
+    private Duration rebuildDelay;
+
+    /* Distingue los ETag de cada arranque */
+    private final String generation = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Snapshot current;
+
+    /* Cambios confirmados aún no aplicados; el último evento de cada id gana */
+    private final Map<Long, ProductChangedEvent> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "product-listing-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /* Estado de trabajo: solo lo toca el hilo rebuilder */
+    private final NavigableMap<Long, Row> rows = new TreeMap<>();
+
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    private long version;
+
+    private boolean loaded;
+
+    /* Última copia publicada, o null mientras se carga (o si la tabla es demasiado grande) */
+    public Snapshot current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        rebuilder.execute(() -> {
+            long start = System.nanoTime();
+            int[] count = new int[1];
+            try {
+                jdbcRepository.forEach(product -> {
+                    if (++count[0] > maxProducts) {
+                        throw new TooLarge();
+                    }
+                    rows.put(product.getId(), row(product));
+                });
+            } catch (TooLarge e) {
+                discard();
+                return;
+            }
+            segments.clear();
+            resegment(Long.MIN_VALUE, Long.MAX_VALUE);
+            loaded = true;
+            // los eventos llegados durante la carga se aplican encima, sin retroceder versiones
+            rebuild();
+            if (rebuilder.isShutdown()) {
+                return;
+            }
+            publish();
+            log.info("Listado de productos en memoria en {} ms ({} productos, {} segmentos)",
+                    (System.nanoTime() - start) / 1_000_000, rows.size(), segments.size());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (rebuilder.isShutdown()) {
+            return;
+        }
+        pending.put(event.id(), event);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                rebuilder.schedule(() -> {
+                    scheduled.set(false);
+                    if (loaded && rebuild()) {
+                        publish();
+                    }
+                }, rebuildDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // discard() acaba de detener el hilo: ya no hay copia que mantener
+                pending.clear();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+
+    /* Aplica los cambios pendientes; true si alguno modificó el listado */
+    private boolean rebuild() {
+        TreeSet<Long> changed = new TreeSet<>();
+        for (Long id : List.copyOf(pending.keySet())) {
+            ProductChangedEvent event = pending.remove(id);
+            if (event != null && apply(event)) {
+                changed.add(id);
+            }
+        }
+        if (changed.isEmpty()) {
+            return false;
+        }
+        if (rows.size() > maxProducts) {
+            discard();
+            return false;
+        }
+        // límites de los segmentos afectados, calculados antes de tocar ninguno
+        TreeMap<Long, Long> ranges = new TreeMap<>();
+        for (Long id : changed) {
+            Long key = segments.isEmpty() ? null : segments.floorKey(id);
+            if (key == null && !segments.isEmpty()) {
+                key = segments.firstKey();
+            }
+            // el primer segmento también cubre los ids menores que el suyo
+            long from = key == null || key.equals(segments.firstKey()) ? Long.MIN_VALUE : key;
+            Long to = key == null ? null : segments.higherKey(key);
+            ranges.put(from, to == null ? Long.MAX_VALUE : to);
+        }
+        ranges.forEach(this::resegment);
+        return true;
+    }
+
+    private boolean apply(ProductChangedEvent event) {
+        Product product = event.current();
+        if (product == null) {
+            return rows.remove(event.id()) != null;
+        }
+        Row existing = rows.get(event.id());
+        if (existing != null && existing.version() > product.getVersion()) {
+            return false;
+        }
+        rows.put(event.id(), row(product));
+        return true;
+    }
+
+    /* Rehace los segmentos que cubren [from, to) a partir de rows */
+    private void resegment(long from, long to) {
+        segments.subMap(from, true, to, false).clear();
+        NavigableMap<Long, Row> range = rows.subMap(from, true, to, false);
+        int size = range.size();
+        if (size == 0) {
+            return;
+        }
+        // un segmento que creció hasta el doble se parte en trozos de segment-size
+        int parts = size < 2 * segmentSize ? 1 : size / segmentSize;
+        int perPart = (size + parts - 1) / parts;
+        List<Map.Entry<Long, Row>> entries = new ArrayList<>(range.entrySet());
+        for (int start = 0; start < size; start += perPart) {
+            List<Map.Entry<Long, Row>> part = entries.subList(start, Math.min(size, start + perPart));
+            segments.put(part.get(0).getKey(), segment(part));
+        }
+    }
+
+    private void publish() {
+        version++;
+        current = new Snapshot(generation + "-" + version, List.copyOf(segments.values()), gzip);
+    }
+
+    /* Deja de mantener la copia: /stream vuelve a leer de la base de datos */
+    private void discard() {
+        current = null;
+        rows.clear();
+        segments.clear();
+        pending.clear();
+        log.info("El listado tiene más de {} productos; /stream seguirá leyendo de la base de datos", maxProducts);
+        rebuilder.shutdown();
+    }
+
+    private Row row(Product product) {
+        try {
+            return new Row(product.getVersion() == null ? 0 : product.getVersion(),
+                    objectMapper.writeValueAsBytes(product));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el producto " + product.getId(), e);
+        }
+    }
+
+    private Segment segment(List<Map.Entry<Long, Row>> part) {
+        byte[][] rows = new byte[part.size()][];
+        int length = part.size() - 1;
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = part.get(i).getValue().json();
+            length += rows[i].length;
+        }
+        byte[] json = new byte[length];
+        int position = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            System.arraycopy(rows[i], 0, json, position, rows[i].length);
+            position += rows[i].length;
+        }
+        // en NDJSON las comas pasan a ser saltos de línea y la última fila suma uno
+        return new Segment(rows, json, gzip ? compress(json) : null, length + 1L);
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class TooLarge extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        TooLarge() {
+            super(null, null, false, false);
+        }
+    }
+
+}
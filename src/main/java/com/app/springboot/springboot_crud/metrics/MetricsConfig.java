@@ -0,0 +1,79 @@
+package com.app.springboot.springboot_crud.metrics;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.app.springboot.springboot_crud.validation.ProductFastValidator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Instrumentación del API de productos, publicada en /actuator/prometheus.
+ *
+ * - Endpoints de ProductController: http.server.requests (Spring Boot).
+ * - Consultas de ProductRepository: spring.data.repository.invocations (Spring
+ * Boot), incluida la de existsBySku que lanza IsExistsValidation.
+ * - Métodos de ProductService: products.service.
+ * - Consultas de ProductJdbcRepository: products.repository.jdbc.
+ * - Validación de @Valid: products.validation (con ProductFastValidator si
+ * app.products.validation.fast-path=true).
+ *
+ * Los histogramas se activan con
+ * management.metrics.distribution.percentiles-histogram.*; Micrometer los
+ * registra sobre HdrHistogram.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    static final String SERVICE_POINTCUT = "execution(public * com.app.springboot.springboot_crud.services.ProductService+.*(..))";
+
+    static final String JDBC_POINTCUT = "execution(public * com.app.springboot.springboot_crud.repositories.ProductJdbcRepository.*(..))";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private jakarta.validation.Validator validator;
+
+    @Autowired
+    private ObjectProvider<ProductFastValidator> fastValidator;
+
+    @Bean
+    static Advisor productServiceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        return timingAdvisor(SERVICE_POINTCUT, registry, "products.service");
+    }
+
+    @Bean
+    static Advisor productJdbcRepositoryTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        return timingAdvisor(JDBC_POINTCUT, registry, "products.repository.jdbc");
+    }
+
+    @Override
+    public Validator getValidator() {
+        Timer timer = Timer.builder("products.validation")
+                .description("Tiempo de la validación @Valid de las peticiones")
+                .register(registry);
+        SmartValidator delegate = fastValidator.getIfAvailable();
+        if (delegate == null) {
+            delegate = new SpringValidatorAdapter(validator);
+        }
+        return new TimedValidator(delegate, timer);
+    }
+
+    private static Advisor timingAdvisor(String expression, ObjectProvider<MeterRegistry> registry, String name) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        return new DefaultPointcutAdvisor(pointcut, new TimingInterceptor(registry, name));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.app.springboot.springboot_crud.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas propias del API de productos que no cubren las automáticas de
+ * Spring Boot (http.server.requests, spring.data.repository.invocations). Los
+ * medidores se registran una sola vez al arrancar y los métodos de registro
+ * solo actualizan contadores e histogramas.
+ */
+@Component
+public class ProductMetrics {
+
+    private final DistributionSummary listRows;
+
+    private final DistributionSummary streamRows;
+
+    private final DistributionSummary searchRows;
+
+    private final Counter skuResolvedInMemory;
+
+    private final Timer skuCheckedInDatabase;
+
+    public ProductMetrics(MeterRegistry registry) {
+        listRows = DistributionSummary.builder("products.rows.returned")
+                .description("Filas devueltas por respuesta")
+                .tag("endpoint", "list")
+                .register(registry);
+        streamRows = DistributionSummary.builder("products.rows.returned")
+                .description("Filas devueltas por respuesta")
+                .tag("endpoint", "stream")
+                .register(registry);
+        searchRows = DistributionSummary.builder("products.rows.returned")
+                .description("Filas devueltas por respuesta")
+                .tag("endpoint", "search")
+                .register(registry);
+        skuResolvedInMemory = Counter.builder("products.validation.sku.index")
+                .description("Validaciones de sku resueltas por el índice en memoria")
+                .register(registry);
+        skuCheckedInDatabase = Timer.builder("products.validation.sku.database")
+                .description("Validaciones de sku que consultaron existsBySku")
+                .register(registry);
+    }
+
+    public void listed(int rows) {
+        listRows.record(rows);
+    }
+
+    public void streamed(long rows) {
+        streamRows.record(rows);
+    }
+
+    public void searched(int rows) {
+        searchRows.record(rows);
+    }
+
+    public void skuResolvedInMemory() {
+        skuResolvedInMemory.increment();
+    }
+
+    public void skuCheckedInDatabase(long nanos) {
+        skuCheckedInDatabase.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.app.springboot.springboot_crud.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide la duración de cada método interceptado en un Timer con la etiqueta
+ * method. El Timer de cada método se crea la primera vez que se invoca y se
+ * guarda por Method, así que las llamadas siguientes solo hacen una búsqueda
+ * en el mapa y registran el valor en el histograma, sin crear objetos que
+ * distorsionen la latencia medida.
+ *
+ * El MeterRegistry se obtiene de forma diferida: los Advisor se crean antes que
+ * el resto de los beans y no deben forzar la creación temprana del registro.
+ */
+class TimingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    private final String name;
+
+    private final ConcurrentHashMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    TimingInterceptor(ObjectProvider<MeterRegistry> registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> Timer.builder(name)
+                    .tag("method", m.getName())
+                    .register(registry.getObject()));
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.app.springboot.springboot_crud.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.app.springboot.springboot_crud.dto.ProductView;
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Acceso JDBC directo a la tabla products para las lecturas que no deben pasar
+ * por el contexto de persistencia de JPA.
+ *
+ * Recorrer la tabla completa con CrudRepository.findAll() materializa todas las
+ * filas como entidades administradas antes de devolver la lista. Aquí se usa un
+ * cursor de solo avance (TYPE_FORWARD_ONLY, CONCUR_READ_ONLY) con un fetch size
+ * fijo, de modo que el driver de MariaDB entrega las filas por bloques y cada
+ * fila se procesa y se descarta antes de leer la siguiente. La memoria usada
+ * no depende del tamaño de la tabla.
+ *
+ * También concentra las escrituras por id (UPDATE y DELETE), que no cargan la
+ * fila como entidad antes de modificarla.
+ */
+@Repository
+public class ProductJdbcRepository {
+
+    static final String COLUMNS = "id, sku, name, price, description, version, updated_at";
+
+    static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM products ORDER BY id";
+
+    static final String SELECT_SKUS = "SELECT sku FROM products";
+
+    static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM products WHERE id = ?";
+
+    static final String SELECT_VERSION_BY_ID = "SELECT version FROM products WHERE id = ?";
+
+    static final String DELETE_BY_ID = "DELETE FROM products WHERE id = ?";
+
+    /* MariaDB 10.0.5+ */
+    static final String DELETE_BY_ID_RETURNING = DELETE_BY_ID + " RETURNING " + COLUMNS;
+
+    /*
+     * Columnas que se pueden modificar por nombre de propiedad. Solo se aceptan
+     * estas claves, así que el SQL generado nunca incluye texto del cliente.
+     */
+    static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "sku", "sku",
+            "name", "name",
+            "price", "price",
+            "description", "description");
+
+    /*
+     * Las fechas se guardan en UTC (hibernate.jdbc.time_zone=UTC); se leen con el
+     * mismo calendario para no depender de la zona horaria de la JVM.
+     */
+    static final ThreadLocal<Calendar> UTC = ThreadLocal
+            .withInitial(() -> Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+
+    public static final RowMapper<Product> ROW_MAPPER = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setSku(rs.getString("sku"));
+        product.setName(rs.getString("name"));
+        product.setPrice(rs.getObject("price", Integer.class));
+        product.setDescription(rs.getString("description"));
+        product.setVersion(rs.getLong("version"));
+        Timestamp updatedAt = rs.getTimestamp("updated_at", UTC.get());
+        product.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant());
+        return product;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.products.stream.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${app.products.mutations.update-returning:false}")
+    private boolean updateReturning;
+
+    /*
+     * Entrega cada producto de la tabla, ordenado por id, al consumidor indicado.
+     * El consumidor se ejecuta mientras el cursor sigue abierto, por lo que debe
+     * escribir o procesar la fila y no guardarla.
+     */
+    public void forEach(Consumer<Product> action) {
+        jdbcTemplate.query(forwardOnly(SELECT_ALL),
+                (RowCallbackHandler) rs -> action.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    public void forEachSku(Consumer<String> action) {
+        jdbcTemplate.query(forwardOnly(SELECT_SKUS), (RowCallbackHandler) rs -> action.accept(rs.getString(1)));
+    }
+
+    /*
+     * Página del listado con solo las columnas pedidas (propiedades de
+     * ProductView.FIELDS). id y version se leen siempre: son el cursor y la base
+     * del ETag de la página.
+     */
+    public List<ProductView> findViews(Long afterId, int limit, Set<String> fields) {
+        boolean sku = fields.contains("sku");
+        boolean name = fields.contains("name");
+        boolean price = fields.contains("price");
+        boolean description = fields.contains("description");
+        boolean updatedAt = fields.contains("updatedAt");
+
+        StringBuilder sql = new StringBuilder("SELECT id, version");
+        if (sku) {
+            sql.append(", sku");
+        }
+        if (name) {
+            sql.append(", name");
+        }
+        if (price) {
+            sql.append(", price");
+        }
+        if (description) {
+            sql.append(", description");
+        }
+        if (updatedAt) {
+            sql.append(", updated_at");
+        }
+        sql.append(" FROM products WHERE id > ? ORDER BY id LIMIT ?");
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp timestamp = updatedAt ? rs.getTimestamp("updated_at", UTC.get()) : null;
+            return new ProductView(
+                    rs.getLong("id"),
+                    sku ? rs.getString("sku") : null,
+                    name ? rs.getString("name") : null,
+                    price ? rs.getObject("price", Integer.class) : null,
+                    description ? rs.getString("description") : null,
+                    rs.getLong("version"),
+                    timestamp == null ? null : timestamp.toInstant());
+        }, afterId, limit);
+    }
+
+    public Optional<Product> findById(Long id) {
+        return jdbcTemplate.query(SELECT_BY_ID, ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /*
+     * UPDATE de todas las columnas editables en una sola sentencia. Con
+     * expectedVersion distinto de null solo se aplica si la fila sigue en esa
+     * versión. Devuelve el número de filas modificadas (0 o 1).
+     */
+    public int update(Long id, Product product, Long expectedVersion, Instant updatedAt) {
+        return update(id, columns(product), expectedVersion, updatedAt);
+    }
+
+    /*
+     * UPDATE parcial: solo se escriben las columnas presentes en changes (claves
+     * de UPDATABLE_COLUMNS). La versión aumenta igual que con JPA.
+     */
+    public int update(Long id, Map<String, ?> changes, Long expectedVersion, Instant updatedAt) {
+        List<Object> args = new ArrayList<>(changes.size() + 3);
+        String sql = update(id, changes, expectedVersion, updatedAt, "version + 1", args);
+        return jdbcTemplate.update(sql, ps -> bind(ps, args));
+    }
+
+    /*
+     * UPDATE incondicional de todas las columnas editables que devuelve la
+     * versión resultante, o vacío si la fila no existe. Con
+     * app.products.mutations.update-returning (MariaDB) la versión llega en la
+     * respuesta del propio UPDATE como LAST_INSERT_ID(version + 1); en otro
+     * caso se lee después por clave primaria, sin bloquear nada más que la
+     * fila que el UPDATE ya tiene bloqueada.
+     */
+    public Optional<Long> updateReturningVersion(Long id, Product product, Instant updatedAt) {
+        Map<String, Object> changes = columns(product);
+        List<Object> args = new ArrayList<>(changes.size() + 2);
+        if (!updateReturning) {
+            String sql = update(id, changes, null, updatedAt, "version + 1", args);
+            if (jdbcTemplate.update(sql, ps -> bind(ps, args)) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(jdbcTemplate.queryForObject(SELECT_VERSION_BY_ID, Long.class, id));
+        }
+        String sql = update(id, changes, null, updatedAt, "LAST_INSERT_ID(version + 1)", args);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int updated = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            bind(ps, args);
+            return ps;
+        }, keyHolder);
+        return updated == 0 ? Optional.empty() : Optional.of(keyHolder.getKey().longValue());
+    }
+
+    public int delete(Long id) {
+        return jdbcTemplate.update(DELETE_BY_ID, id);
+    }
+
+    /*
+     * DELETE ... RETURNING: borra la fila y devuelve su contenido en el mismo
+     * viaje a la base de datos. Requiere MariaDB 10.0.5 o superior.
+     */
+    public Optional<Product> deleteReturning(Long id) {
+        return jdbcTemplate.query(DELETE_BY_ID_RETURNING, ROW_MAPPER, id).stream().findFirst();
+    }
+
+    private static Map<String, Object> columns(Product product) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("sku", product.getSku());
+        changes.put("name", product.getName());
+        changes.put("price", product.getPrice());
+        changes.put("description", product.getDescription());
+        return changes;
+    }
+
+    /* Arma el UPDATE por id y deja sus parámetros en args */
+    private static String update(Long id, Map<String, ?> changes, Long expectedVersion, Instant updatedAt,
+            String nextVersion, List<Object> args) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET ");
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            String column = UPDATABLE_COLUMNS.get(change.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Columna no modificable: " + change.getKey());
+            }
+            sql.append(column).append(" = ?, ");
+            args.add(change.getValue());
+        }
+        sql.append("version = ").append(nextVersion).append(", updated_at = ? WHERE id = ?");
+        args.add(updatedAt);
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<Object> args) throws SQLException {
+        for (int i = 0; i < args.size(); i++) {
+            Object arg = args.get(i);
+            if (arg instanceof Instant instant) {
+                ps.setTimestamp(i + 1, Timestamp.from(instant), UTC.get());
+            } else {
+                ps.setObject(i + 1, arg);
+            }
+        }
+    }
+
+    private PreparedStatementCreator forwardOnly(String sql) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        };
+    }
+
+}
@@ -1,9 +1,47 @@
 package com.app.springboot.springboot_crud.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.app.springboot.springboot_crud.dto.ProductView;
 import com.app.springboot.springboot_crud.entities.Product;
 
-public interface ProductRepository extends CrudRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long> {
     boolean existsBySku(String sku);
+
+    /*
+     * Paginación por cursor (keyset): en lugar de OFFSET, que obliga a la base de
+     * datos a recorrer y descartar todas las filas anteriores, se filtra por
+     * id > cursor usando el índice de la clave primaria.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /*
+     * Misma página que findByIdGreaterThanOrderByIdAsc, pero con una expresión
+     * constructora: Hibernate crea directamente los ProductView, sin entidades en
+     * el contexto de persistencia ni copias para el dirty checking.
+     */
+    @Query("select new com.app.springboot.springboot_crud.dto.ProductView("
+            + "p.id, p.sku, p.name, p.price, p.description, p.version, p.updatedAt) "
+            + "from Product p where p.id > :id order by p.id")
+    List<ProductView> findViewsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    /*
+     * Búsqueda en la base de datos, usada mientras ProductSearchIndex no está
+     * cargado. text es un patrón LIKE en minúsculas y skuPrefix ya viene
+     * escapado (escape '\').
+     */
+    @Query("select p from Product p "
+            + "where (:minPrice is null or p.price >= :minPrice) "
+            + "and (:maxPrice is null or p.price <= :maxPrice) "
+            + "and (:skuPrefix is null or p.sku like concat(:skuPrefix, '%') escape '\\') "
+            + "and (:text is null or lower(p.name) like :text or lower(p.description) like :text)")
+    Page<Product> search(@Param("text") String text, @Param("minPrice") Integer minPrice,
+            @Param("maxPrice") Integer maxPrice, @Param("skuPrefix") String skuPrefix, Pageable pageable);
 }
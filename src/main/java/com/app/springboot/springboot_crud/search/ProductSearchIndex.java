@@ -0,0 +1,322 @@
+package com.app.springboot.springboot_crud.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+
+/**
+ * Índice de búsqueda en memoria de la tabla products.
+ *
+ * - Índice invertido término → (id → peso) sobre name y description. Los
+ * términos se pasan a minúsculas y sin acentos; las apariciones en el nombre
+ * pesan NAME_WEIGHT veces más que en la descripción.
+ * - Mapa ordenado precio → ids para los rangos de precio y el orden por precio.
+ * - Mapa ordenado sku → id para los prefijos de sku.
+ *
+ * Se carga al arrancar con un cursor JDBC y se mantiene con los
+ * ProductChangedEvent confirmados, igual que SkuIndex. Las escrituras son mucho
+ * menos frecuentes que las búsquedas, así que las estructuras se protegen con
+ * un ReadWriteLock: las búsquedas se ejecutan en paralelo y cada cambio se
+ * aplica de forma atómica.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final int NAME_WEIGHT = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private ProductJdbcRepository jdbcRepository;
+
+    @Value("${app.products.search.enabled:true}")
+    private boolean enabled = true;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Long, Product> documents = new TreeMap<>();
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    private final NavigableMap<Integer, Set<Long>> byPrice = new TreeMap<>();
+
+    private final NavigableMap<String, Long> bySku = new TreeMap<>();
+
+    /* ids modificados por eventos mientras se carga el índice: el cursor no debe pisarlos */
+    private final Set<Long> changedWhileWarming = new HashSet<>();
+
+    private boolean warming;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        write(() -> warming = true);
+        jdbcRepository.forEach(product -> write(() -> {
+            if (!changedWhileWarming.contains(product.getId())) {
+                put(product);
+            }
+        }));
+        write(() -> {
+            warming = false;
+            changedWhileWarming.clear();
+            ready = true;
+        });
+        log.info("Índice de búsqueda cargado en {} ms ({} productos, {} términos)",
+                (System.nanoTime() - start) / 1_000_000, documents.size(), postings.size());
+    }
+
+    /*
+     * Mientras no esté cargado, ProductServiceImpl resuelve las búsquedas con la
+     * base de datos.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(() -> {
+            if (warming) {
+                changedWhileWarming.add(event.id());
+            }
+            remove(event.id());
+            if (event.current() != null) {
+                put(event.current());
+            }
+        });
+    }
+
+    public ProductSearchPage search(ProductSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            Set<String> terms = tokens(query.text()).keySet();
+            // solo términos demasiado cortos para el índice, o un rango de precios vacío
+            // (que además haría fallar subMap): nada coincide
+            if ((terms.isEmpty() && query.text() != null && !query.text().isBlank()) || query.emptyPriceRange()) {
+                return new ProductSearchPage(List.of(), 0, query.page(), query.size());
+            }
+            Iterable<Product> ordered;
+            if (!terms.isEmpty()) {
+                ordered = byScore(terms, query);
+            } else if (query.sort() != ProductSearchQuery.Sort.RELEVANCE) {
+                ordered = byPrice(query);
+            } else if (query.skuPrefix() != null) {
+                ordered = sorted(bySku.subMap(query.skuPrefix(), true, query.skuPrefix() + Character.MAX_VALUE, true)
+                        .values(), Comparator.comparing(Product::getId));
+            } else {
+                ordered = documents.values();
+            }
+
+            List<Product> items = new ArrayList<>(query.size());
+            long total = 0;
+            for (Product product : ordered) {
+                if (!matches(product, query)) {
+                    continue;
+                }
+                if (total >= query.offset() && items.size() < query.size()) {
+                    items.add(product);
+                }
+                total++;
+            }
+            return new ProductSearchPage(items, total, query.page(), query.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Intersección de las listas de cada término empezando por la más corta, y
+     * puntuación TF-IDF: peso del término en el producto por log(1 + N / df).
+     */
+    private List<Product> byScore(Set<String> terms, ProductSearchQuery query) {
+        List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        double documentCount = documents.size();
+        Map<Long, Double> scores = new HashMap<>();
+        candidates: for (Map.Entry<Long, Integer> entry : lists.get(0).entrySet()) {
+            double score = 0;
+            for (Map<Long, Integer> list : lists) {
+                Integer weight = list.get(entry.getKey());
+                if (weight == null) {
+                    continue candidates;
+                }
+                score += weight * Math.log(1 + documentCount / list.size());
+            }
+            scores.put(entry.getKey(), score);
+        }
+
+        Comparator<Product> order = switch (query.sort()) {
+            case PRICE_ASC -> byPriceThenId();
+            case PRICE_DESC -> byPriceThenId().reversed();
+            case RELEVANCE -> Comparator.<Product>comparingDouble(product -> scores.get(product.getId()))
+                    .reversed()
+                    .thenComparing(Product::getId);
+        };
+        return sorted(scores.keySet(), order);
+    }
+
+    /*
+     * Sin texto, el orden por precio sale directamente del mapa ordenado: solo
+     * se recorre el rango pedido y solo se ordenan por id los productos con el
+     * mismo precio.
+     */
+    private Iterable<Product> byPrice(ProductSearchQuery query) {
+        NavigableMap<Integer, Set<Long>> range = byPrice;
+        if (query.minPrice() != null) {
+            range = range.tailMap(query.minPrice(), true);
+        }
+        if (query.maxPrice() != null) {
+            range = range.headMap(query.maxPrice(), true);
+        }
+        Comparator<Product> samePrice = Comparator.comparing(Product::getId);
+        if (query.sort() == ProductSearchQuery.Sort.PRICE_DESC) {
+            range = range.descendingMap();
+            samePrice = samePrice.reversed();
+        }
+        Comparator<Product> order = samePrice;
+        return range.values().stream().flatMap(ids -> sorted(ids, order).stream())::iterator;
+    }
+
+    private List<Product> sorted(Collection<Long> ids, Comparator<Product> order) {
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            products.add(documents.get(id));
+        }
+        products.sort(order);
+        return products;
+    }
+
+    private static Comparator<Product> byPriceThenId() {
+        return Comparator.comparing(Product::getPrice, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Product::getId);
+    }
+
+    private static boolean matches(Product product, ProductSearchQuery query) {
+        Integer price = product.getPrice();
+        if (query.minPrice() != null && (price == null || price < query.minPrice())) {
+            return false;
+        }
+        if (query.maxPrice() != null && (price == null || price > query.maxPrice())) {
+            return false;
+        }
+        return query.skuPrefix() == null
+                || (product.getSku() != null && product.getSku().startsWith(query.skuPrefix()));
+    }
+
+    private void put(Product product) {
+        Long id = product.getId();
+        documents.put(id, product);
+        if (product.getPrice() != null) {
+            byPrice.computeIfAbsent(product.getPrice(), price -> new HashSet<>()).add(id);
+        }
+        if (product.getSku() != null) {
+            bySku.put(product.getSku(), id);
+        }
+        weights(product).forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    }
+
+    private void remove(Long id) {
+        Product product = documents.remove(id);
+        if (product == null) {
+            return;
+        }
+        if (product.getPrice() != null) {
+            Set<Long> ids = byPrice.get(product.getPrice());
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                byPrice.remove(product.getPrice());
+            }
+        }
+        if (product.getSku() != null) {
+            bySku.remove(product.getSku(), id);
+        }
+        for (String term : weights(product).keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null && list.remove(id) != null && list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Map<String, Integer> weights(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokens(product.getName()).forEach((term, count) -> weights.merge(term, count * NAME_WEIGHT, Integer::sum));
+        tokens(product.getDescription()).forEach((term, count) -> weights.merge(term, count, Integer::sum));
+        return weights;
+    }
+
+    /*
+     * Términos de un texto con su número de apariciones, en el orden en que
+     * aparecen. Se descartan los de una sola letra.
+     */
+    static Map<String, Integer> tokens(String text) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.length() > 1) {
+                tokens.merge(token, 1, Integer::sum);
+            }
+        }
+        return tokens;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
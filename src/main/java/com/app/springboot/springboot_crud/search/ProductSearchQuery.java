@@ -0,0 +1,28 @@
+package com.app.springboot.springboot_crud.search;
+
+/**
+ * Parámetros de GET /api/products/search. Todos los filtros son opcionales y se
+ * combinan con AND; text se divide en términos y todos deben aparecer en el
+ * nombre o en la descripción.
+ */
+public record ProductSearchQuery(String text, Integer minPrice, Integer maxPrice, String skuPrefix,
+        Sort sort, int page, int size) {
+
+    /*
+     * RELEVANCE ordena por puntuación TF-IDF cuando hay texto y por id cuando
+     * no lo hay.
+     */
+    public enum Sort {
+        RELEVANCE, PRICE_ASC, PRICE_DESC
+    }
+
+    public long offset() {
+        return (long) page * size;
+    }
+
+    /* minPrice mayor que maxPrice: ningún producto puede coincidir */
+    public boolean emptyPriceRange() {
+        return minPrice != null && maxPrice != null && minPrice > maxPrice;
+    }
+
+}
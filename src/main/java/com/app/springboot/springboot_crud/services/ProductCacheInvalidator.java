@@ -0,0 +1,46 @@
+package com.app.springboot.springboot_crud.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.CacheConfig;
+
+/**
+ * Mantiene la caché de productos al día con las escrituras del servicio. Se
+ * ejecuta después del commit para que ninguna lectura concurrente vea en la
+ * caché un valor que luego se revierte: las altas y modificaciones escriben
+ * la copia confirmada (write-through) y las bajas la eliminan. Con
+ * ProductVersionFence, una copia que llega después de otra más reciente ya no
+ * la reemplaza.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductVersionFence fence;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            fence.retire(event.id());
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache == null) {
+            return;
+        }
+        if (event.current() != null) {
+            if (fence.advance(event.id(), event.current().getVersion())) {
+                cache.put(event.id(), event.current());
+            }
+        } else {
+            cache.evict(event.id());
+        }
+    }
+
+}
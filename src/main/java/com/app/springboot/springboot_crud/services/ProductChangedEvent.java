@@ -0,0 +1,46 @@
+package com.app.springboot.springboot_crud.services;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Evento publicado por ProductServiceImpl cada vez que un producto se crea, se
+ * actualiza o se elimina. Los componentes que mantienen estructuras en memoria
+ * derivadas de la tabla (índices, cachés) lo escuchan con
+ * {@code @TransactionalEventListener}, de modo que solo ven los cambios que
+ * llegaron a confirmarse.
+ *
+ * previous y current son copias desacopladas del contexto de persistencia:
+ * previous es null en las altas y current es null en las bajas. previous
+ * también es null en las modificaciones con una sola sentencia UPDATE, en las
+ * que el estado anterior nunca se lee; current siempre lleva la versión.
+ */
+public record ProductChangedEvent(Type type, Long id, Product previous, Product current) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProductChangedEvent created(Product current) {
+        return new ProductChangedEvent(Type.CREATED, current.getId(), null, snapshot(current));
+    }
+
+    public static ProductChangedEvent updated(Product previous, Product current) {
+        return new ProductChangedEvent(Type.UPDATED, current.getId(), previous, snapshot(current));
+    }
+
+    public static ProductChangedEvent deleted(Product previous) {
+        return new ProductChangedEvent(Type.DELETED, previous.getId(), snapshot(previous), null);
+    }
+
+    public static Product snapshot(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setSku(product.getSku());
+        copy.setName(product.getName());
+        copy.setPrice(product.getPrice());
+        copy.setDescription(product.getDescription());
+        copy.setVersion(product.getVersion());
+        copy.setUpdatedAt(product.getUpdatedAt());
+        return copy;
+    }
+}
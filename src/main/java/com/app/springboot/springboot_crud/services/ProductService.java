@@ -1,21 +1,46 @@
 package com.app.springboot.springboot_crud.services;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.dto.ProductView;
 import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.search.ProductSearchQuery;
 
 public interface ProductService {
 
     List<Product> findAll();
 
+    List<Product> findPage(Long afterId, int size);
+
+    List<ProductView> findViews(Long afterId, int size, Set<String> fields);
+
+    void forEach(Consumer<Product> action);
+
     Optional<Product> findById(Long id);
 
+    ProductSearchPage search(ProductSearchQuery query);
+
     Product save(Product product);
 
     Optional<Product> update(Long id, Product product);
 
+    Optional<Product> update(Long id, Product product, long expectedVersion);
+
+    Optional<Product> patch(Long id, Map<String, Object> changes, Long expectedVersion);
+
     Optional<Product> delete(Long id);
 
     boolean existsBySku(String sku);
+
+    List<BatchItemResult> saveAll(List<Product> products);
+
+    List<BatchItemResult> updateAll(List<Product> products);
+
+    List<BatchItemResult> deleteAll(List<Long> ids);
 }
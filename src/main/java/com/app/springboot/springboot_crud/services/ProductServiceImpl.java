@@ -1,15 +1,44 @@
 package com.app.springboot.springboot_crud.services;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.app.springboot.springboot_crud.CacheConfig;
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.BatchItemResult.Status;
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.dto.ProductView;
 import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
 import com.app.springboot.springboot_crud.repositories.ProductRepository;
+import com.app.springboot.springboot_crud.search.ProductSearchIndex;
+import com.app.springboot.springboot_crud.search.ProductSearchQuery;
+import com.app.springboot.springboot_crud.validation.UniqueSku;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -17,48 +46,173 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private ProductJdbcRepository jdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Value("${app.products.mutations.delete-returning:false}")
+    private boolean deleteReturning;
+
     @Transactional(readOnly = true)
     @Override
     public List<Product> findAll() {
-        return (List<Product>) repository.findAll();
+        return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<Product> findPage(Long afterId, int size) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(size));
+    }
+
+    /*
+     * Listado como proyección: sin fields (o con todas las propiedades) se usa la
+     * expresión constructora JPQL; con un subconjunto, un SELECT JDBC con solo
+     * esas columnas. En ningún caso se crean entidades, así que no hace falta
+     * transacción.
+     */
+    @Override
+    public List<ProductView> findViews(Long afterId, int size, Set<String> fields) {
+        long after = afterId == null ? 0L : afterId;
+        if (fields == null || fields.containsAll(ProductView.FIELDS)) {
+            return repository.findViewsByIdGreaterThan(after, Limit.of(size));
+        }
+        return jdbcRepository.findViews(after, size, fields);
+    }
+
+    /*
+     * No se abre una transacción JPA: la lectura se hace con un cursor JDBC de
+     * solo avance y las filas nunca entran al contexto de persistencia.
+     */
+    @Override
+    public void forEach(Consumer<Product> action) {
+        jdbcRepository.forEach(action);
+    }
+
+    /*
+     * Una lectura que termina después de un cambio más reciente no se guarda
+     * en la caché (ProductVersionFence).
+     */
+    @Cacheable(value = CacheConfig.PRODUCTS, unless = "@productVersionFence.isStale(#result)")
     @Transactional(readOnly = true)
     @Override
     public Optional<Product> findById(Long id) {
         return repository.findById(id);
     }
 
+    /*
+     * La búsqueda se resuelve en memoria. Solo mientras el índice se carga se
+     * consulta la base de datos con LIKE; en ese caso el orden por relevancia se
+     * reemplaza por el orden por id.
+     */
+    @Override
+    public ProductSearchPage search(ProductSearchQuery query) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query);
+        }
+        Sort sort = switch (query.sort()) {
+            case PRICE_ASC -> Sort.by("price", "id");
+            case PRICE_DESC -> Sort.by(Sort.Direction.DESC, "price", "id");
+            case RELEVANCE -> Sort.by("id");
+        };
+        String text = query.text() == null || query.text().isBlank() ? null
+                : "%" + query.text().trim().toLowerCase(Locale.ROOT) + "%";
+        String skuPrefix = query.skuPrefix() == null ? null
+                : query.skuPrefix().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        Page<Product> page = repository.search(text, query.minPrice(), query.maxPrice(), skuPrefix,
+                PageRequest.of(query.page(), query.size(), sort));
+        return new ProductSearchPage(page.getContent(), page.getTotalElements(), query.page(), query.size());
+    }
+
     @Transactional
     @Override
     public Product save(Product product) {
-        return repository.save(product);
+        Product productNew = repository.save(product);
+        events.publishEvent(ProductChangedEvent.created(productNew));
+        return productNew;
     }
 
+    /*
+     * Modificaciones con una sola sentencia (ProductJdbcRepository): la fila no
+     * se lee antes de escribirla y el número de filas afectadas indica si
+     * existía. El UPDATE también devuelve la versión resultante, así que la
+     * respuesta lleva su ETag. Como el estado anterior no se conoce, el evento
+     * lleva previous en null.
+     */
     @Transactional
-    @Modifying
     @Override
     public Optional<Product> update(Long id, Product product) {
-        Optional<Product> productOptionalDB = repository.findById(id);
-        if (productOptionalDB.isPresent()) {
-            Product productDB = productOptionalDB.orElseThrow();
-
-            productDB.setSku(product.getSku());
-            productDB.setName(product.getName());
-            productDB.setDescription(productDB.getDescription());
-            productDB.setPrice(product.getPrice());
-            return Optional.of(repository.save(productDB));
+        Instant updatedAt = now();
+        return jdbcRepository.updateReturningVersion(id, product, updatedAt)
+                .map(version -> updated(id, product, version, updatedAt));
+    }
+
+    /*
+     * Actualización optimista sin lectura previa ni bloqueos: un único UPDATE
+     * ... WHERE id = ? AND version = ?. Si no modifica ninguna fila, existsById
+     * decide entre OptimisticLockingFailureException (la versión cambió) y
+     * vacío (el producto no existe).
+     */
+    @Transactional
+    @Override
+    public Optional<Product> update(Long id, Product product, long expectedVersion) {
+        Instant updatedAt = now();
+        if (jdbcRepository.update(id, product, expectedVersion, updatedAt) == 0) {
+            return notUpdated(id, expectedVersion);
+        }
+        return Optional.of(updated(id, product, expectedVersion + 1, updatedAt));
+    }
+
+    /*
+     * PATCH: solo se escriben las columnas presentes en changes, con un UPDATE
+     * condicionado a expectedVersion si se indica. Las demás columnas no se
+     * conocen, así que la fila se lee después por clave primaria para
+     * devolverla completa; esa lectura no añade bloqueos, la fila ya está
+     * bloqueada por el UPDATE.
+     */
+    @Transactional
+    @Override
+    public Optional<Product> patch(Long id, Map<String, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            return jdbcRepository.findById(id);
         }
-        return productOptionalDB;
+        if (jdbcRepository.update(id, changes, expectedVersion, now()) == 0) {
+            return expectedVersion == null ? Optional.empty() : notUpdated(id, expectedVersion);
+        }
+        Optional<Product> productUpdated = jdbcRepository.findById(id);
+        productUpdated.ifPresent(product -> events.publishEvent(ProductChangedEvent.updated(null, product)));
+        return productUpdated;
     }
 
+    /*
+     * Con app.products.mutations.delete-returning (MariaDB 10.0.5+) la fila se
+     * borra y se devuelve con un único DELETE ... RETURNING. En otro caso hacen
+     * falta dos sentencias: la respuesta y el evento llevan el producto borrado
+     * (ProductCacheCoherence necesita su versión y SkuIndex su sku), y después
+     * del DELETE ya no se puede leer.
+     */
     @Transactional
-    @Modifying
     @Override
     public Optional<Product> delete(Long id) {
-        Optional<Product> productOptionalDB = repository.findById(id);
-        productOptionalDB.ifPresent(repository::delete);
-        return productOptionalDB;
+        Optional<Product> productDeleted;
+        if (deleteReturning) {
+            productDeleted = jdbcRepository.deleteReturning(id);
+        } else {
+            productDeleted = jdbcRepository.findById(id);
+            if (productDeleted.isPresent() && jdbcRepository.delete(id) == 0) {
+                productDeleted = Optional.empty();
+            }
+        }
+        productDeleted.ifPresent(product -> events.publishEvent(ProductChangedEvent.deleted(product)));
+        return productDeleted;
     }
 
     @Transactional(readOnly = true)
@@ -67,4 +221,167 @@ public class ProductServiceImpl implements ProductService {
         return repository.existsBySku(sku);
     }
 
+    /*
+     * Operaciones en lote. Cada lote se guarda en una única transacción para que
+     * Hibernate agrupe las sentencias (hibernate.jdbc.batch_size). Si el lote
+     * falla, se repite elemento por elemento, cada uno en su propia transacción,
+     * para informar cuál falló sin perder los demás.
+     */
+    @Override
+    public List<BatchItemResult> saveAll(List<Product> products) {
+        products.forEach(ProductServiceImpl::detach);
+        try {
+            List<Product> productsNew = transactionTemplate.execute(status -> {
+                List<Product> saved = repository.saveAll(products);
+                saved.forEach(product -> events.publishEvent(ProductChangedEvent.created(product)));
+                return saved;
+            });
+            return productsNew.stream().map(product -> BatchItemResult.of(product.getId(), Status.CREATED)).toList();
+        } catch (DataAccessException | TransactionException e) {
+            return products.stream().map(this::saveOne).toList();
+        }
+    }
+
+    @Override
+    public List<BatchItemResult> updateAll(List<Product> products) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Long, Product> productsDB = repository
+                        .findAllById(products.stream().map(Product::getId).toList()).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+                List<Product> previous = new ArrayList<>();
+                List<Product> changed = new ArrayList<>();
+                List<BatchItemResult> results = products.stream().map(product -> {
+                    Product productDB = productsDB.get(product.getId());
+                    if (productDB == null) {
+                        return BatchItemResult.of(product.getId(), Status.NOT_FOUND);
+                    }
+                    previous.add(ProductChangedEvent.snapshot(productDB));
+                    copy(product, productDB);
+                    changed.add(productDB);
+                    return BatchItemResult.of(productDB.getId(), Status.UPDATED);
+                }).toList();
+                // los eventos deben llevar la versión incrementada por el flush
+                repository.flush();
+                for (int i = 0; i < changed.size(); i++) {
+                    events.publishEvent(ProductChangedEvent.updated(previous.get(i), changed.get(i)));
+                }
+                return results;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            return products.stream().map(this::updateOne).toList();
+        }
+    }
+
+    @Override
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Product> productsDB = repository.findAllById(ids);
+                Set<Long> found = productsDB.stream()
+                        .map(Product::getId)
+                        .collect(Collectors.toSet());
+                if (!found.isEmpty()) {
+                    repository.deleteAllByIdInBatch(found);
+                    productsDB.forEach(productDB -> events.publishEvent(ProductChangedEvent.deleted(productDB)));
+                }
+                return ids.stream()
+                        .map(id -> BatchItemResult.of(id, found.contains(id) ? Status.DELETED : Status.NOT_FOUND))
+                        .toList();
+            });
+        } catch (DataAccessException | TransactionException e) {
+            return ids.stream().map(this::deleteOne).toList();
+        }
+    }
+
+    private BatchItemResult saveOne(Product product) {
+        detach(product);
+        try {
+            Product productNew = transactionTemplate.execute(status -> {
+                Product saved = repository.save(product);
+                events.publishEvent(ProductChangedEvent.created(saved));
+                return saved;
+            });
+            return BatchItemResult.of(productNew.getId(), Status.CREATED);
+        } catch (DataAccessException | TransactionException e) {
+            return failed(null, e);
+        }
+    }
+
+    private BatchItemResult updateOne(Product product) {
+        try {
+            return transactionTemplate.execute(status -> repository.findById(product.getId())
+                    .map(productDB -> {
+                        Product previous = ProductChangedEvent.snapshot(productDB);
+                        copy(product, productDB);
+                        repository.flush();
+                        events.publishEvent(ProductChangedEvent.updated(previous, productDB));
+                        return BatchItemResult.of(productDB.getId(), Status.UPDATED);
+                    })
+                    .orElseGet(() -> BatchItemResult.of(product.getId(), Status.NOT_FOUND)));
+        } catch (DataAccessException | TransactionException e) {
+            return failed(product.getId(), e);
+        }
+    }
+
+    private BatchItemResult deleteOne(Long id) {
+        try {
+            return transactionTemplate.execute(status -> repository.findById(id)
+                    .map(productDB -> {
+                        repository.deleteAllByIdInBatch(List.of(id));
+                        events.publishEvent(ProductChangedEvent.deleted(productDB));
+                        return BatchItemResult.of(id, Status.DELETED);
+                    })
+                    .orElseGet(() -> BatchItemResult.of(id, Status.NOT_FOUND)));
+        } catch (DataAccessException | TransactionException e) {
+            return failed(id, e);
+        }
+    }
+
+    private Product updated(Long id, Product product, long version, Instant updatedAt) {
+        Product productUpdated = new Product();
+        productUpdated.setId(id);
+        copy(product, productUpdated);
+        productUpdated.setVersion(version);
+        productUpdated.setUpdatedAt(updatedAt);
+        events.publishEvent(ProductChangedEvent.updated(null, productUpdated));
+        return productUpdated;
+    }
+
+    private Optional<Product> notUpdated(Long id, long expectedVersion) {
+        if (repository.existsById(id)) {
+            throw new OptimisticLockingFailureException(
+                    "El producto " + id + " ya no está en la versión " + expectedVersion);
+        }
+        return Optional.empty();
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /*
+     * Un lote revertido deja en las entidades el id y la versión que Hibernate
+     * les asignó. Con version distinta de null, save() haría merge sobre una
+     * copia en lugar de persist, así que ambos se limpian antes de reintentar.
+     */
+    private static void detach(Product product) {
+        product.setId(null);
+        product.setVersion(null);
+    }
+
+    private static BatchItemResult failed(Long id, NestedRuntimeException e) {
+        if (UniqueSku.isViolation(e)) {
+            return BatchItemResult.invalid(id, Map.of("sku", UniqueSku.ERROR_MESSAGE));
+        }
+        return BatchItemResult.failed(id, String.valueOf(e.getMostSpecificCause().getMessage()));
+    }
+
+    private static void copy(Product source, Product target) {
+        target.setSku(source.getSku());
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+        target.setPrice(source.getPrice());
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.app.springboot.springboot_crud.services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Última versión conocida de cada producto modificado recientemente. Impide
+ * que la caché de productos guarde una copia más antigua que un cambio ya
+ * confirmado: una lectura lenta que termina después de la invalidación, dos
+ * escrituras locales cuyos eventos se aplican en otro orden o un mensaje de
+ * otra instancia que llega desordenado.
+ *
+ * Una baja deja una marca que rechaza cualquier versión. Las marcas caducan
+ * tras app.cache.invalidation.fence-ttl: después de ese tiempo ninguna
+ * lectura de antes del cambio puede seguir en curso.
+ */
+@Component
+public class ProductVersionFence {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    @Value("${app.cache.invalidation.fence-ttl:5m}")
+    private Duration ttl;
+
+    @Value("${app.cache.invalidation.fence-max-size:100000}")
+    private long maxSize;
+
+    private Cache<Long, Long> fences;
+
+    @PostConstruct
+    void init() {
+        fences = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+    }
+
+    /*
+     * Registra version como mínima para id. Devuelve false si ya se conocía
+     * una versión posterior (o una baja): el cambio llegó tarde.
+     */
+    public boolean advance(Long id, long version) {
+        return fences.asMap().merge(id, version, Math::max) == version;
+    }
+
+    public void retire(Long id) {
+        fences.put(id, DELETED);
+    }
+
+    /* true si product es anterior al último cambio conocido y no debe cachearse */
+    public boolean isStale(Product product) {
+        if (product == null || product.getId() == null || product.getVersion() == null) {
+            return false;
+        }
+        Long fence = fences.getIfPresent(product.getId());
+        return fence != null && product.getVersion() < fence;
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.app.springboot.springboot_crud.stats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.app.springboot.springboot_crud.dto.ProductStats;
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Agregados de la tabla products que se mantienen fila por fila.
+ *
+ * Por cada id se guarda su versión y su precio, para poder restar el precio
+ * anterior cuando una modificación no lo trae (UPDATE de una sola sentencia)
+ * y para descartar eventos de una versión menor que la ya aplicada. Cada
+ * cambio se aplica dentro de ConcurrentHashMap.compute de su id; los
+ * contadores son LongAdder, el histograma un AtomicLongArray y el mínimo y el
+ * máximo salen de un mapa ordenado precio → cantidad, así que ninguna
+ * escritura bloquea a las demás ni a las lecturas.
+ */
+final class CatalogAggregates {
+
+    private record Entry(long version, Integer price) {
+    }
+
+    /* Límites inferiores de los tramos del histograma, a partir del segundo */
+    private final int[] bounds;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder priced = new LongAdder();
+
+    private final LongAdder priceSum = new LongAdder();
+
+    private final ConcurrentSkipListMap<Integer, Long> priceCounts = new ConcurrentSkipListMap<>();
+
+    private final AtomicLongArray histogram;
+
+    CatalogAggregates(int[] bounds) {
+        this.bounds = bounds;
+        this.histogram = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /*
+     * Estado confirmado de un producto. Sin versión (PUT incondicional) se
+     * aplica siempre y se conserva la versión conocida.
+     */
+    void put(Product product) {
+        Long version = product.getVersion();
+        entries.compute(product.getId(), (id, old) -> {
+            if (old != null && version != null && old.version() > version) {
+                return old;
+            }
+            return replace(old, version == null ? (old == null ? 0 : old.version()) : version, product.getPrice());
+        });
+    }
+
+    /* Fila leída por el recálculo; los ids de changed ya llegaron por evento */
+    void load(Product product, Set<Long> changed) {
+        entries.compute(product.getId(), (id, old) -> changed.contains(id) ? old
+                : replace(old, product.getVersion() == null ? 0 : product.getVersion(), product.getPrice()));
+    }
+
+    void remove(Long id) {
+        entries.computeIfPresent(id, (key, old) -> {
+            count.decrement();
+            unaccount(old.price());
+            return null;
+        });
+    }
+
+    ProductStats snapshot(Instant verifiedAt) {
+        long priceCount = priced.sum();
+        long total = priceSum.sum();
+        Map.Entry<Integer, Long> min = priceCounts.firstEntry();
+        Map.Entry<Integer, Long> max = priceCounts.lastEntry();
+        List<ProductStats.PriceBucket> buckets = new ArrayList<>(histogram.length());
+        for (int i = 0; i < histogram.length(); i++) {
+            buckets.add(new ProductStats.PriceBucket(i == 0 ? null : bounds[i - 1],
+                    i == bounds.length ? null : bounds[i], histogram.get(i)));
+        }
+        return new ProductStats(count.sum(), min == null ? null : min.getKey(), max == null ? null : max.getKey(),
+                priceCount == 0 ? null : (double) total / priceCount, total, buckets, verifiedAt);
+    }
+
+    private Entry replace(Entry old, long version, Integer price) {
+        if (old == null) {
+            count.increment();
+        } else {
+            unaccount(old.price());
+        }
+        account(price);
+        return new Entry(version, price);
+    }
+
+    private void account(Integer price) {
+        if (price == null) {
+            return;
+        }
+        priced.increment();
+        priceSum.add(price);
+        priceCounts.merge(price, 1L, Long::sum);
+        histogram.incrementAndGet(bucket(price));
+    }
+
+    private void unaccount(Integer price) {
+        if (price == null) {
+            return;
+        }
+        priced.decrement();
+        priceSum.add(-price);
+        priceCounts.merge(price, -1L, (current, delta) -> current + delta == 0 ? null : current + delta);
+        histogram.decrementAndGet(bucket(price));
+    }
+
+    private int bucket(int price) {
+        int index = Arrays.binarySearch(bounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.app.springboot.springboot_crud.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.dto.ProductStats;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Estadísticas del catálogo para GET /api/products/stats
+ * (app.products.stats.enabled=true): cantidad de productos, precio mínimo,
+ * máximo y promedio, e histograma de precios por los tramos de
+ * app.products.stats.buckets.
+ *
+ * Los agregados (CatalogAggregates) se calculan al arrancar con un cursor
+ * JDBC y después se actualizan con cada ProductChangedEvent confirmado de
+ * save, update, patch y delete, así que la respuesta no depende del tamaño de
+ * la tabla. Cada verify-interval se recalculan desde cero en un hilo aparte:
+ * los eventos que llegan durante el recorrido se aplican a los dos juegos de
+ * agregados y el cursor no pisa esos ids. Si el resultado no coincide con los
+ * agregados incrementales se registra en el log y en products.stats.drift, y
+ * se reemplazan.
+ *
+ * Los valores de una respuesta se leen sin bloquear las escrituras, así que
+ * pueden mezclar un cambio que se está aplicando en ese momento.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.stats.enabled", havingValue = "true")
+public class ProductCatalogStats implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogStats.class);
+
+    @Autowired
+    private ProductJdbcRepository jdbcRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.products.stats.buckets:10,50,100,500,1000,5000,10000}")
+    private int[] bounds;
+
+    @Value("${app.products.stats.verify-interval:10m}")
+    private Duration verifyInterval;
+
+    /* Solo para cambiar de agregados: los eventos toman el de lectura y no se bloquean entre sí */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService verifier = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "product-catalog-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogAggregates live;
+
+    private volatile Instant verifiedAt;
+
+    /* Recálculo en curso y los ids que cambiaron durante el recorrido */
+    private CatalogAggregates scanning;
+
+    private Set<Long> changedWhileScanning;
+
+    private Counter drift;
+
+    @PostConstruct
+    void init() {
+        bounds = Arrays.stream(bounds).sorted().distinct().toArray();
+        live = new CatalogAggregates(bounds);
+        drift = Counter.builder("products.stats.drift")
+                .description("Recálculos completos que no coincidieron con los agregados incrementales")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        verifier.scheduleWithFixedDelay(this::verify, 0, verifyInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /* Vacío hasta que termina el primer cálculo completo */
+    public Optional<ProductStats> current() {
+        Instant verified = verifiedAt;
+        return verified == null ? Optional.empty() : Optional.of(live.snapshot(verified));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (scanning != null) {
+                changedWhileScanning.add(event.id());
+                apply(scanning, event);
+            }
+            apply(live, event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        verifier.shutdownNow();
+    }
+
+    /*
+     * Recalcula los agregados desde la tabla y los reemplaza. Devuelve false si
+     * no coincidían con los incrementales (siempre true en el primer cálculo).
+     */
+    boolean verify() {
+        long start = System.nanoTime();
+        CatalogAggregates fresh = new CatalogAggregates(bounds);
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        write(() -> {
+            scanning = fresh;
+            changedWhileScanning = changed;
+        });
+        boolean consistent = true;
+        try {
+            jdbcRepository.forEach(product -> fresh.load(product, changed));
+        } catch (RuntimeException e) {
+            log.error("No se pudieron recalcular las estadísticas del catálogo", e);
+            write(() -> {
+                scanning = null;
+                changedWhileScanning = null;
+            });
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            scanning = null;
+            changedWhileScanning = null;
+            if (verifiedAt != null) {
+                ProductStats expected = fresh.snapshot(verifiedAt);
+                ProductStats actual = live.snapshot(verifiedAt);
+                if (!expected.equals(actual)) {
+                    consistent = false;
+                    drift.increment();
+                    log.warn("Las estadísticas incrementales no coincidían con la tabla: {} en lugar de {}", actual,
+                            expected);
+                }
+            }
+            live = fresh;
+            verifiedAt = Instant.now();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Estadísticas del catálogo recalculadas en {} ms", (System.nanoTime() - start) / 1_000_000);
+        return consistent;
+    }
+
+    private static void apply(CatalogAggregates aggregates, ProductChangedEvent event) {
+        if (event.current() == null) {
+            aggregates.remove(event.id());
+        } else {
+            aggregates.put(event.current());
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de exportación e importación del catálogo.
+ *
+ * - CSV: text/csv con cabecera, UTF-8 y comillas según RFC 4180.
+ * - COLUMNAR: binario por bloques de hasta ColumnarProductWriter.BLOCK_ROWS
+ * filas con cada columna contigua, enteros en varint y longitudes delante de
+ * los textos; ocupa bastante menos que CSV y se lee sin analizar texto.
+ */
+public enum CatalogFormat {
+
+    CSV("csv", MediaType.parseMediaType("text/csv"), ".csv"),
+    COLUMNAR("columnar", MediaType.parseMediaType(CatalogFormat.COLUMNAR_VALUE), ".pcol");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    public static final String COLUMNAR_VALUE = "application/vnd.products.columnar";
+
+    private final String token;
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    CatalogFormat(String token, MediaType mediaType, String extension) {
+        this.token = token;
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public ProductWriter writer(OutputStream out) {
+        return this == CSV ? new CsvProductWriter(out) : new ColumnarProductWriter(out);
+    }
+
+    public ProductReader reader(InputStream in) {
+        return this == CSV ? new CsvProductReader(in) : new ColumnarProductReader(in);
+    }
+
+    /* Por nombre (csv, columnar) o, si no coincide, por tipo de contenido */
+    public static Optional<CatalogFormat> of(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        for (CatalogFormat format : values()) {
+            if (format.token.equalsIgnoreCase(value.trim())) {
+                return Optional.of(format);
+            }
+        }
+        try {
+            return of(MediaType.parseMediaType(value));
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<CatalogFormat> of(MediaType mediaType) {
+        for (CatalogFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
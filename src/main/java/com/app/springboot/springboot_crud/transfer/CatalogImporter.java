@@ -0,0 +1,402 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.CatalogImportStatus;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importación del catálogo en segundo plano (app.products.import.enabled).
+ *
+ * submit copia el cuerpo de la petición a un archivo temporal con
+ * FileChannel.transferFrom y devuelve enseguida el id de la importación. Un
+ * único hilo lee después el archivo (por ventanas mapeadas en memoria si mide
+ * al menos mmap-threshold) en tramos de chunk-size registros:
+ *
+ * - Cada tramo se valida en paralelo, repartido entre validation-threads
+ * hilos, con las mismas reglas que POST /api/products (incluida @IsExistsDB,
+ * que SkuIndex resuelve casi siempre en memoria). Mientras tanto se guarda el
+ * tramo anterior.
+ * - Los registros válidos se guardan con ProductService.saveAll, una
+ * transacción con INSERT agrupados por tramo.
+ *
+ * El progreso (bytes leídos, registros guardados y rechazados) se consulta con
+ * status mientras dura la importación y status-retention después.
+ *
+ * Solo se admite una importación a la vez, desde que empieza a recibirse el
+ * archivo hasta que termina: otro submit mientras tanto lanza Busy, así nunca
+ * hay más de un archivo temporal de hasta max-size en disco.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.import.enabled", havingValue = "true")
+public class CatalogImporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.products.import.max-size:1GB}")
+    private DataSize maxSize;
+
+    @Value("${app.products.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.products.import.mmap-threshold:64MB}")
+    private DataSize mmapThreshold;
+
+    @Value("${app.products.import.validation-threads:0}")
+    private int validationThreads;
+
+    @Value("${app.products.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${app.products.import.status-retention:1h}")
+    private Duration statusRetention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final String prefix = Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ExecutorService importer;
+
+    private ExecutorService validators;
+
+    private int slices;
+
+    @PostConstruct
+    void init() {
+        slices = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        validators = Executors.newFixedThreadPool(slices, task -> {
+            Thread thread = new Thread(task, "product-import-validation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        importer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "product-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        importer.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    /*
+     * Guarda el cuerpo en un archivo temporal y empieza la importación. Vacío
+     * si el cuerpo supera max-size; Busy si ya hay otra en curso.
+     */
+    public Optional<CatalogImportStatus> submit(InputStream body, CatalogFormat format) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new Busy();
+        }
+        purgeFinished();
+        Path file = null;
+        try {
+            file = Files.createTempFile("products-import-", format.extension());
+            long size = spool(body, file);
+            if (size < 0) {
+                Files.deleteIfExists(file);
+                running.set(false);
+                return Optional.empty();
+            }
+            Job job = new Job(prefix + sequence.incrementAndGet(), format, file, size);
+            jobs.put(job.id, job);
+            importer.execute(() -> run(job));
+            return Optional.of(job.status());
+        } catch (IOException | RuntimeException e) {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public Optional<CatalogImportStatus> status(String importId) {
+        return Optional.ofNullable(jobs.get(importId)).map(Job::status);
+    }
+
+    public DataSize maxSize() {
+        return maxSize;
+    }
+
+    /* Bytes copiados, o -1 si el cuerpo supera max-size */
+    private long spool(InputStream body, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                ReadableByteChannel source = Channels.newChannel(body)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+                if (position > maxSize.toBytes()) {
+                    return -1;
+                }
+            }
+            return position;
+        }
+    }
+
+    private void run(Job job) {
+        long start = System.nanoTime();
+        CatalogImportStatus.State state = CatalogImportStatus.State.FAILED;
+        String error = null;
+        try (InputStream in = open(job)) {
+            ProductReader reader = job.format.reader(in);
+            Set<String> skus = new HashSet<>();
+            Chunk pending = null;
+            List<CatalogRecord> records = new ArrayList<>(chunkSize);
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+                if (records.size() == chunkSize) {
+                    // el tramo siguiente se valida mientras se guarda el anterior
+                    Chunk next = validate(records);
+                    load(job, pending, skus);
+                    pending = next;
+                    records = new ArrayList<>(chunkSize);
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("La importación se interrumpió al detener la aplicación");
+                    }
+                }
+            }
+            load(job, pending, skus);
+            load(job, records.isEmpty() ? null : validate(records), skus);
+            state = CatalogImportStatus.State.COMPLETED;
+            log.info("Importación {} terminada en {} ms: {} altas, {} rechazadas, {} fallidas", job.id,
+                    (System.nanoTime() - start) / 1_000_000, job.created, job.invalid, job.failed);
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage();
+            log.warn("Importación {} interrumpida tras {} registros", job.id, job.rows, e);
+        } finally {
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el archivo temporal {}", job.file, e);
+            }
+            // se libera antes de publicar el estado final: quien lo vea terminado ya puede enviar otra
+            running.set(false);
+            job.finish(state, error);
+        }
+    }
+
+    private InputStream open(Job job) throws IOException {
+        FileChannel channel = FileChannel.open(job.file, StandardOpenOption.READ);
+        InputStream in = job.bytes >= mmapThreshold.toBytes() ? new MappedFileInputStream(channel)
+                : Channels.newInputStream(channel);
+        return new FilterInputStream(in) {
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    job.bytesRead.incrementAndGet();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                int read = super.read(bytes, offset, length);
+                if (read > 0) {
+                    job.bytesRead.addAndGet(read);
+                }
+                return read;
+            }
+        };
+    }
+
+    /* Tramo de registros y su validación en curso */
+    private record Chunk(List<CatalogRecord> records, List<Map<String, String>> errors,
+            CompletableFuture<Void> validated) {
+    }
+
+    private Chunk validate(List<CatalogRecord> records) {
+        List<Map<String, String>> errors = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            errors.add(null);
+        }
+        int sliceSize = (records.size() + slices - 1) / slices;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(slices);
+        for (int from = 0; from < records.size(); from += sliceSize) {
+            int start = from;
+            int end = Math.min(from + sliceSize, records.size());
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    errors.set(i, validate(records.get(i)));
+                }
+            }, validators));
+        }
+        return new Chunk(records, errors, CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)));
+    }
+
+    /*
+     * Mismo formato de error que el resto del API. Un valor que no se pudo
+     * convertir conserva su error en lugar del de la restricción.
+     */
+    private Map<String, String> validate(CatalogRecord record) {
+        Map<String, String> errors = new HashMap<>(record.errors());
+        for (ConstraintViolation<Product> violation : validator.validate(record.product())) {
+            String field = violation.getPropertyPath().toString();
+            errors.putIfAbsent(field, "El campo " + field + " " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void load(Job job, Chunk chunk, Set<String> skus) {
+        if (chunk == null) {
+            return;
+        }
+        chunk.validated().join();
+        List<Product> valid = new ArrayList<>(chunk.records().size());
+        List<Integer> lines = new ArrayList<>(chunk.records().size());
+        for (int i = 0; i < chunk.records().size(); i++) {
+            CatalogRecord record = chunk.records().get(i);
+            Map<String, String> errors = chunk.errors().get(i);
+            String sku = record.product().getSku();
+            if (errors.isEmpty() && sku != null && !skus.add(sku)) {
+                errors.put("sku", "El campo sku está repetido en el archivo");
+            }
+            if (errors.isEmpty()) {
+                valid.add(record.product());
+                lines.add(record.line());
+            } else {
+                job.invalid.incrementAndGet();
+                job.reject(BatchItemResult.invalid(null, errors).at(record.line()));
+            }
+        }
+        List<BatchItemResult> results = valid.isEmpty() ? List.of() : service.saveAll(valid);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isSuccessful()) {
+                job.created.incrementAndGet();
+            } else {
+                job.failed.incrementAndGet();
+                job.reject(results.get(i).at(lines.get(i)));
+            }
+        }
+        job.rows.addAndGet(chunk.records().size());
+    }
+
+    private void purgeFinished() {
+        Instant limit = Instant.now().minus(statusRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    /* Ya hay una importación recibiéndose o en curso */
+    public static final class Busy extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        Busy() {
+            super("Ya hay una importación en curso");
+        }
+    }
+
+    private final class Job {
+
+        final String id;
+
+        final CatalogFormat format;
+
+        final Path file;
+
+        final long bytes;
+
+        final Instant startedAt = Instant.now();
+
+        final AtomicLong bytesRead = new AtomicLong();
+
+        final AtomicLong rows = new AtomicLong();
+
+        final AtomicLong created = new AtomicLong();
+
+        final AtomicLong invalid = new AtomicLong();
+
+        final AtomicLong failed = new AtomicLong();
+
+        final List<BatchItemResult> errors = new CopyOnWriteArrayList<>();
+
+        volatile CatalogImportStatus.State state = CatalogImportStatus.State.RUNNING;
+
+        volatile Instant finishedAt;
+
+        volatile String error;
+
+        Job(String id, CatalogFormat format, Path file, long bytes) {
+            this.id = id;
+            this.format = format;
+            this.file = file;
+            this.bytes = bytes;
+        }
+
+        void reject(BatchItemResult result) {
+            if (errors.size() < maxErrors) {
+                errors.add(result);
+            }
+        }
+
+        void finish(CatalogImportStatus.State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        CatalogImportStatus status() {
+            return new CatalogImportStatus(id, state, format.token(), bytes, bytesRead.get(), rows.get(),
+                    created.get(), invalid.get(), failed.get(), List.copyOf(errors), startedAt, finishedAt, error);
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.util.Map;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Producto leído de un archivo de importación. line es su posición entre los
+ * registros del archivo (desde 1, sin contar la cabecera CSV) y errors, los
+ * valores que no se pudieron convertir.
+ */
+public record CatalogRecord(int line, Product product, Map<String, String> errors) {
+}
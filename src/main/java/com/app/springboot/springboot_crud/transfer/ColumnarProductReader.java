@@ -0,0 +1,163 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Lector del formato de ColumnarProductWriter. Lee un bloque completo y
+ * devuelve sus filas una a una; como en CSV, id, version y updatedAt se
+ * ignoran y cada fila es un alta.
+ */
+class ColumnarProductReader implements ProductReader {
+
+    private static final int MAX_STRING = 64 * 1024;
+
+    private final InputStream in;
+
+    private boolean started;
+
+    private boolean finished;
+
+    private String[] skus = new String[0];
+
+    private String[] names;
+
+    private Integer[] prices;
+
+    private String[] descriptions;
+
+    private int count;
+
+    private int position;
+
+    private int line;
+
+    ColumnarProductReader(InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 64 * 1024);
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        if (!started) {
+            header();
+        }
+        if (position == count) {
+            if (finished || !readBlock()) {
+                return null;
+            }
+        }
+        Product product = new Product();
+        product.setSku(skus[position]);
+        product.setName(names[position]);
+        product.setPrice(prices[position]);
+        product.setDescription(descriptions[position]);
+        position++;
+        return new CatalogRecord(++line, product, Map.of());
+    }
+
+    static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private void header() throws IOException {
+        byte[] magic = in.readNBytes(ColumnarProductWriter.MAGIC.length);
+        if (!Arrays.equals(magic, ColumnarProductWriter.MAGIC)) {
+            throw new IOException("El archivo no está en formato columnar de productos");
+        }
+        int version = in.read();
+        if (version != ColumnarProductWriter.FORMAT_VERSION) {
+            throw new IOException("Versión del formato columnar no soportada: " + version);
+        }
+        started = true;
+    }
+
+    private boolean readBlock() throws IOException {
+        long rows = readUnsigned();
+        if (rows == 0) {
+            finished = true;
+            return false;
+        }
+        if (rows > ColumnarProductWriter.BLOCK_ROWS) {
+            throw new IOException("Bloque de " + rows + " filas tras el registro " + line);
+        }
+        count = (int) rows;
+        position = 0;
+        for (int i = 0; i < count; i++) {
+            readNullable();
+        }
+        skus = readStrings();
+        names = readStrings();
+        prices = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            Long price = readNullable();
+            if (price != null && (price < Integer.MIN_VALUE || price > Integer.MAX_VALUE)) {
+                throw new IOException("Precio fuera de rango en el registro " + (line + i + 1));
+            }
+            prices[i] = price == null ? null : price.intValue();
+        }
+        descriptions = readStrings();
+        for (int i = 0; i < count; i++) {
+            readNullable();
+        }
+        for (int i = 0; i < count; i++) {
+            readNullable();
+        }
+        return true;
+    }
+
+    private String[] readStrings() throws IOException {
+        long[] lengths = new long[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = readUnsigned();
+            if (lengths[i] > MAX_STRING + 1L) {
+                throw new IOException("Texto demasiado largo en el registro " + (line + i + 1));
+            }
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > 0) {
+                int length = (int) lengths[i] - 1;
+                byte[] bytes = in.readNBytes(length);
+                if (bytes.length < length) {
+                    throw new EOFException("Archivo columnar incompleto");
+                }
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+
+    private Long readNullable() throws IOException {
+        long value = readUnsigned();
+        if (value == 0) {
+            return null;
+        }
+        value--;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readUnsigned() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Archivo columnar incompleto");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entero mal codificado tras el registro " + line);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Formato columnar: MAGIC, la versión FORMAT_VERSION y bloques de hasta
+ * BLOCK_ROWS filas; un bloque de 0 filas marca el final. En cada bloque, tras
+ * el número de filas, van las columnas una detrás de otra:
+ *
+ * - id: diferencia con el id anterior del bloque.
+ * - sku, name, description: las longitudes de todas las filas y después los
+ * bytes UTF-8 de todas las filas.
+ * - price y version: el valor.
+ * - updatedAt: microsegundos desde 1970, como diferencia con la fila anterior.
+ *
+ * Los números son varint con zigzag (0 es null y el resto va desplazado en 1);
+ * las longitudes, varint sin signo con el mismo desplazamiento. Solo se guarda
+ * en memoria el bloque en curso.
+ */
+class ColumnarProductWriter implements ProductWriter {
+
+    static final byte[] MAGIC = { 'P', 'C', 'O', 'L' };
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int BLOCK_ROWS = 4096;
+
+    private final OutputStream out;
+
+    private final Product[] block = new Product[BLOCK_ROWS];
+
+    private int count;
+
+    private boolean started;
+
+    ColumnarProductWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out, 64 * 1024);
+    }
+
+    @Override
+    public void write(Product product) throws IOException {
+        block[count++] = product;
+        if (count == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (count > 0) {
+            flushBlock();
+        }
+        start();
+        writeUnsigned(0);
+        out.flush();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            out.write(MAGIC);
+            out.write(FORMAT_VERSION);
+            started = true;
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        start();
+        writeUnsigned(count);
+        long previousId = 0;
+        for (int i = 0; i < count; i++) {
+            Long id = block[i].getId();
+            writeNullable(id == null ? null : id - previousId);
+            if (id != null) {
+                previousId = id;
+            }
+        }
+        writeStrings(i -> block[i].getSku());
+        writeStrings(i -> block[i].getName());
+        for (int i = 0; i < count; i++) {
+            Integer price = block[i].getPrice();
+            writeNullable(price == null ? null : price.longValue());
+        }
+        writeStrings(i -> block[i].getDescription());
+        for (int i = 0; i < count; i++) {
+            writeNullable(block[i].getVersion());
+        }
+        long previousMicros = 0;
+        for (int i = 0; i < count; i++) {
+            if (block[i].getUpdatedAt() == null) {
+                writeNullable(null);
+                continue;
+            }
+            long micros = ColumnarProductReader.toMicros(block[i].getUpdatedAt());
+            writeNullable(micros - previousMicros);
+            previousMicros = micros;
+        }
+        Arrays.fill(block, 0, count, null);
+        count = 0;
+    }
+
+    private interface Column {
+        String get(int row);
+    }
+
+    private void writeStrings(Column column) throws IOException {
+        byte[][] values = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            String value = column.get(i);
+            values[i] = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(values[i] == null ? 0 : values[i].length + 1L);
+        }
+        for (byte[] value : values) {
+            if (value != null) {
+                out.write(value);
+            }
+        }
+    }
+
+    private void writeNullable(Long value) throws IOException {
+        writeUnsigned(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+    }
+
+    private void writeUnsigned(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+}
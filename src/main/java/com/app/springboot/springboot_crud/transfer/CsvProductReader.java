@@ -0,0 +1,166 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * CSV según RFC 4180 con cabecera. Las columnas se identifican por nombre, en
+ * cualquier orden; sku, name, price y description son obligatorias y las
+ * demás (id, version, updatedAt de una exportación) se ignoran: cada fila es
+ * un alta. Un campo vacío sin comillas se lee como null.
+ */
+class CsvProductReader implements ProductReader {
+
+    static final List<String> REQUIRED = List.of("sku", "name", "price", "description");
+
+    /* Un campo más largo indica un archivo que no es CSV o comillas sin cerrar */
+    private static final int MAX_FIELD = 64 * 1024;
+
+    private final Reader in;
+
+    private Map<String, Integer> columns;
+
+    private int line;
+
+    private int pushedBack = -2;
+
+    CsvProductReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        if (columns == null) {
+            header();
+        }
+        List<String> fields;
+        do {
+            fields = row();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0) == null);
+        line++;
+
+        Product product = new Product();
+        Map<String, String> errors = new HashMap<>();
+        product.setSku(field(fields, "sku"));
+        product.setName(field(fields, "name"));
+        product.setDescription(field(fields, "description"));
+        String price = field(fields, "price");
+        if (price != null && !price.isBlank()) {
+            try {
+                product.setPrice(Integer.valueOf(price.trim()));
+            } catch (NumberFormatException e) {
+                errors.put("price", "El campo price debe ser un número entero");
+            }
+        }
+        return new CatalogRecord(line, product, errors);
+    }
+
+    private void header() throws IOException {
+        List<String> names = row();
+        columns = new HashMap<>();
+        if (names == null) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i) == null ? "" : names.get(i);
+            // BOM que algunas hojas de cálculo escriben al inicio
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                name = name.substring(1);
+            }
+            columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED.stream()
+                .filter(name -> !columns.containsKey(name.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IOException("Faltan columnas en la cabecera CSV: " + String.join(", ", missing));
+        }
+    }
+
+    private String field(List<String> fields, String name) {
+        int index = columns.get(name);
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /* Campos del siguiente registro, o null al final del archivo */
+    private List<String> row() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == '"' && field.length() == 0 && !quoted) {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IOException("Comillas sin cerrar en el registro " + (line + 1));
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    append(field, c);
+                }
+                continue;
+            }
+            if (c == ',') {
+                fields.add(value(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                fields.add(value(field, quoted));
+                return fields;
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() >= MAX_FIELD) {
+            throw new IOException("Campo demasiado largo en el registro " + (line + 1));
+        }
+        field.append((char) c);
+    }
+
+    private static String value(StringBuilder field, boolean quoted) {
+        return field.length() == 0 && !quoted ? null : field.toString();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * CSV con la cabecera HEADER. Los valores con coma, comillas o saltos de
+ * línea se escriben entre comillas y las comillas internas se duplican.
+ */
+class CsvProductWriter implements ProductWriter {
+
+    static final String HEADER = "id,sku,name,price,description,version,updatedAt";
+
+    private final Writer out;
+
+    private boolean started;
+
+    CsvProductWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void write(Product product) throws IOException {
+        header();
+        field(product.getId());
+        out.write(',');
+        field(product.getSku());
+        out.write(',');
+        field(product.getName());
+        out.write(',');
+        field(product.getPrice());
+        out.write(',');
+        field(product.getDescription());
+        out.write(',');
+        field(product.getVersion());
+        out.write(',');
+        field(product.getUpdatedAt());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        header();
+        out.flush();
+    }
+
+    private void header() throws IOException {
+        if (!started) {
+            out.write(HEADER);
+            out.write("\r\n");
+            started = true;
+        }
+    }
+
+    private void field(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Lee un archivo a través de ventanas mapeadas en memoria de hasta WINDOW
+ * bytes: los datos se copian directamente de la caché de páginas del sistema
+ * operativo, sin una llamada read() por cada bloque.
+ */
+class MappedFileInputStream extends InputStream {
+
+    static final long WINDOW = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private long offset;
+
+    private MappedByteBuffer buffer;
+
+    MappedFileInputStream(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return mapped() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!mapped()) {
+            return -1;
+        }
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return buffer == null ? 0 : buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /* true si queda algo por leer en la ventana actual o en una nueva */
+    private boolean mapped() throws IOException {
+        if (buffer != null && buffer.hasRemaining()) {
+            return true;
+        }
+        if (offset >= size) {
+            return false;
+        }
+        long length = Math.min(WINDOW, size - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        offset += length;
+        return true;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.IOException;
+
+/**
+ * Lee productos de un CatalogFormat. Un valor que no se puede convertir (por
+ * ejemplo un precio que no es un número) se informa en los errores del
+ * registro; un archivo con una estructura inválida lanza IOException.
+ */
+public interface ProductReader {
+
+    /* Siguiente registro, o null al final del archivo */
+    CatalogRecord next() throws IOException;
+
+}
@@ -0,0 +1,19 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import java.io.IOException;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Escribe productos en un CatalogFormat a medida que llegan; solo guarda en
+ * memoria lo necesario para el formato (una fila en CSV, un bloque en el
+ * formato columnar).
+ */
+public interface ProductWriter {
+
+    void write(Product product) throws IOException;
+
+    /* Escribe lo pendiente y el final del formato; no cierra el stream */
+    void finish() throws IOException;
+
+}
@@ -0,0 +1,79 @@
+package com.app.springboot.springboot_crud.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concurrente para cadenas.
+ *
+ * Un filtro de Bloom responde "seguro que no está" o "puede que esté" usando
+ * un arreglo de bits fijo: cada valor enciende k bits elegidos por funciones
+ * hash. Si alguno de los k bits está apagado, el valor nunca se agregó. Si
+ * todos están encendidos, el valor probablemente se agregó, con una tasa de
+ * falsos positivos que depende del tamaño elegido. No admite eliminar valores.
+ *
+ * Los bits se guardan en un AtomicLongArray, así que agregar y consultar no
+ * necesita bloqueos.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int numWords = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = (long) numWords * 64;
+        this.numHashes = (int) Math.max(1, Math.round((double) numBits / n * LN2));
+    }
+
+    public void put(String value) {
+        long h1 = hash(value, 0xcbf29ce484222325L);
+        long h2 = hash(value, 0x9e3779b97f4a7c15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, (word, m) -> word | m);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value, 0xcbf29ce484222325L);
+        long h2 = hash(value, 0x9e3779b97f4a7c15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * FNV-1a de 64 bits sobre los caracteres, terminado con la mezcla final de
+     * MurmurHash3 para repartir bien los bits. Dos semillas distintas dan los dos
+     * hashes que se combinan (h1 + i * h2) para obtener las k posiciones.
+     */
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= value.length();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
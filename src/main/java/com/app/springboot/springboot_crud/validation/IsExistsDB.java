@@ -13,7 +13,9 @@ import jakarta.validation.Payload;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface IsExistsDB {
 
-    String message() default "ya existe en la base de datos";
+    String MESSAGE = "ya existe en la base de datos";
+
+    String message() default MESSAGE;
 
     Class<?>[] groups() default {};
 
@@ -3,6 +3,7 @@ package com.app.springboot.springboot_crud.validation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.app.springboot.springboot_crud.metrics.ProductMetrics;
 import com.app.springboot.springboot_crud.services.ProductService;
 
 import jakarta.validation.ConstraintValidator;
@@ -14,9 +15,28 @@ public class IsExistsValidation implements ConstraintValidator<IsExistsDB, Strin
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private SkuIndex skuIndex;
+
+    @Autowired
+    private ProductMetrics metrics;
+
+    /*
+     * El índice en memoria descarta sin consultar la base de datos los sku que
+     * seguro no existen; solo los posibles duplicados llegan a existsBySku.
+     */
     @Override
     public boolean isValid(String arg0, ConstraintValidatorContext arg1) {
-        return !service.existsBySku(arg0);
+        if (!skuIndex.mightExist(arg0)) {
+            metrics.skuResolvedInMemory();
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            return !service.existsBySku(arg0);
+        } finally {
+            metrics.skuCheckedInDatabase(System.nanoTime() - start);
+        }
     }
 
 }
@@ -0,0 +1,236 @@
+package com.app.springboot.springboot_crud.validation;
+
+import java.lang.annotation.Annotation;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.metrics.ProductMetrics;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Validación de Product para @Valid sin recorrer las anotaciones por
+ * reflexión en cada petición (app.products.validation.fast-path=true).
+ *
+ * Aplica las mismas reglas que las anotaciones de Product (RequiredValidation
+ * para @IsRequired, los límites de @Size y @Min leídos una vez al arrancar,
+ * @NotNull) y, solo si todas pasan, la comprobación de sku de @IsExistsDB con
+ * SkuIndex y existsBySku. Así un cuerpo inválido nunca llega a la base de
+ * datos; la única diferencia con el validador completo es que en ese caso no
+ * se informa además un sku repetido.
+ *
+ * Los mensajes son los del validador completo (messages.properties y los de
+ * Hibernate Validator): la primera vez que falla cada regla en cada idioma se
+ * obtiene el mensaje con validateValue y se guarda. Un producto válido no crea
+ * ningún objeto. Si un mismo campo incumple dos reglas a la vez, o si las
+ * anotaciones de Product ya no son las esperadas, se usa el validador
+ * completo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.validation.fast-path", havingValue = "true")
+public class ProductFastValidator implements SmartValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFastValidator.class);
+
+    private static final RequiredValidation REQUIRED = new RequiredValidation();
+
+    /* Reglas de Product; el orden es el de los campos en la entidad */
+    enum Rule {
+        SKU_REQUIRED("sku", IsRequired.class),
+        NAME_REQUIRED("name", IsRequired.class),
+        NAME_SIZE("name", Size.class),
+        PRICE_MIN("price", Min.class),
+        PRICE_NOT_NULL("price", NotNull.class),
+        DESCRIPTION_REQUIRED("description", IsRequired.class);
+
+        final String field;
+
+        final Class<? extends Annotation> constraint;
+
+        Rule(String field, Class<? extends Annotation> constraint) {
+            this.field = field;
+            this.constraint = constraint;
+        }
+    }
+
+    private static final Map<String, Set<Class<? extends Annotation>>> EXPECTED_CONSTRAINTS = Map.of(
+            "sku", Set.of(IsRequired.class, IsExistsDB.class),
+            "name", Set.of(IsRequired.class, Size.class),
+            "price", Set.of(Min.class, NotNull.class),
+            "description", Set.of(IsRequired.class));
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private SkuIndex skuIndex;
+
+    @Autowired
+    private ProductMetrics metrics;
+
+    private SpringValidatorAdapter delegate;
+
+    private boolean enabled;
+
+    private int nameMin;
+
+    private int nameMax;
+
+    private long priceMin;
+
+    /* Mensajes por idioma, indexados por Rule.ordinal() */
+    private final Map<Locale, String[]> messages = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        delegate = new SpringValidatorAdapter(validator);
+        Map<String, Set<Class<? extends Annotation>>> actual = validator.getConstraintsForClass(Product.class)
+                .getConstrainedProperties().stream()
+                .collect(Collectors.toMap(PropertyDescriptor::getPropertyName, property -> property
+                        .getConstraintDescriptors().stream()
+                        .<Class<? extends Annotation>>map(descriptor -> descriptor.getAnnotation().annotationType())
+                        .collect(Collectors.toSet())));
+        enabled = EXPECTED_CONSTRAINTS.equals(actual);
+        if (!enabled) {
+            log.warn("Las restricciones de Product cambiaron ({}); se usa el validador completo", actual);
+            return;
+        }
+        Size size = (Size) constraint("name", Size.class).getAnnotation();
+        nameMin = size.min();
+        nameMax = size.max();
+        priceMin = ((Min) constraint("price", Min.class).getAnnotation()).value();
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length > 0) {
+            delegate.validate(target, errors, validationHints);
+        } else {
+            validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!enabled || !(target instanceof Product product)) {
+            delegate.validate(target, errors);
+            return;
+        }
+
+        boolean skuRequired = !REQUIRED.isValid(product.getSku(), null);
+        String name = product.getName();
+        boolean nameRequired = !REQUIRED.isValid(name, null);
+        boolean nameSize = name != null && (name.length() < nameMin || name.length() > nameMax);
+        Integer price = product.getPrice();
+        boolean priceNotNull = price == null;
+        boolean priceMin = price != null && price < this.priceMin;
+        boolean descriptionRequired = !REQUIRED.isValid(product.getDescription(), null);
+
+        if (nameRequired && nameSize) {
+            // dos mensajes para un campo: el que gana depende del orden del validador completo
+            delegate.validate(target, errors);
+            return;
+        }
+        if (skuRequired || nameRequired || nameSize || priceNotNull || priceMin || descriptionRequired) {
+            reject(errors, skuRequired, Rule.SKU_REQUIRED, product.getSku());
+            reject(errors, nameRequired, Rule.NAME_REQUIRED, name);
+            reject(errors, nameSize, Rule.NAME_SIZE, name);
+            reject(errors, priceMin, Rule.PRICE_MIN, price);
+            reject(errors, priceNotNull, Rule.PRICE_NOT_NULL, price);
+            reject(errors, descriptionRequired, Rule.DESCRIPTION_REQUIRED, product.getDescription());
+            return;
+        }
+
+        // mismas comprobaciones que IsExistsValidation, solo con el resto válido
+        String sku = product.getSku();
+        if (!skuIndex.mightExist(sku)) {
+            metrics.skuResolvedInMemory();
+            return;
+        }
+        long start = System.nanoTime();
+        boolean exists;
+        try {
+            exists = service.existsBySku(sku);
+        } finally {
+            metrics.skuCheckedInDatabase(System.nanoTime() - start);
+        }
+        if (exists) {
+            errors.rejectValue("sku", IsExistsDB.class.getSimpleName(), IsExistsDB.MESSAGE);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+            Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return delegate.unwrap(type);
+    }
+
+    private void reject(Errors errors, boolean failed, Rule rule, Object value) {
+        if (failed) {
+            errors.rejectValue(rule.field, rule.constraint.getSimpleName(), message(rule, value));
+        }
+    }
+
+    /*
+     * Mensaje del validador completo para la regla en el idioma de la petición
+     * (el mismo que usa su MessageInterpolator).
+     */
+    private String message(Rule rule, Object value) {
+        Locale locale = LocaleContextHolder.getLocale();
+        String[] localized = messages.computeIfAbsent(locale, l -> new String[Rule.values().length]);
+        String message = localized[rule.ordinal()];
+        if (message == null) {
+            for (ConstraintViolation<Product> violation : validator.validateValue(Product.class, rule.field, value)) {
+                if (rule.constraint.isInstance(violation.getConstraintDescriptor().getAnnotation())) {
+                    message = violation.getMessage();
+                }
+            }
+            localized[rule.ordinal()] = message;
+        }
+        return message;
+    }
+
+    private ConstraintDescriptor<?> constraint(String property, Class<? extends Annotation> type) {
+        return validator.getConstraintsForClass(Product.class).getConstraintsForProperty(property)
+                .getConstraintDescriptors().stream()
+                .filter(descriptor -> type.isInstance(descriptor.getAnnotation()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
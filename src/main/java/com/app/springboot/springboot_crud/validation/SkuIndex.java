@@ -0,0 +1,134 @@
+package com.app.springboot.springboot_crud.validation;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Índice en memoria de los sku de la tabla products, usado por
+ * IsExistsValidation para no consultar la base de datos en cada alta.
+ *
+ * Tiene dos niveles:
+ * - Un filtro de Bloom que responde en memoria "seguro que no existe" para la
+ * gran mayoría de sku nuevos.
+ * - Un conjunto exacto acotado (app.products.sku-index.max-exact-size) que
+ * descarta los falsos positivos del filtro mientras la tabla quepa en él. Si la
+ * tabla crece por encima del límite, el conjunto se libera y los posibles
+ * positivos se confirman con la base de datos.
+ *
+ * El índice se carga al arrancar y se actualiza con los ProductChangedEvent
+ * confirmados. Solo se usa para responder "no existe"; cualquier respuesta
+ * dudosa se delega a la base de datos, y la restricción única uk_products_sku
+ * sigue siendo la garantía final.
+ */
+@Component
+public class SkuIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkuIndex.class);
+
+    @Autowired
+    private ProductJdbcRepository jdbcRepository;
+
+    @Value("${app.products.sku-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.products.sku-index.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${app.products.sku-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.products.sku-index.max-exact-size:200000}")
+    private int maxExactSize;
+
+    private BloomFilter bloomFilter;
+
+    private final Set<String> exact = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean exactComplete = true;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        jdbcRepository.forEachSku(this::add);
+        ready = true;
+        log.info("Índice de sku cargado en {} ms (conjunto exacto {})",
+                (System.nanoTime() - start) / 1_000_000, exactComplete ? "completo" : "desactivado");
+    }
+
+    /*
+     * false: el sku seguro que no existe. true: puede existir y hay que
+     * confirmarlo con la base de datos.
+     */
+    public boolean mightExist(String sku) {
+        if (!ready || sku == null) {
+            return true;
+        }
+        if (!bloomFilter.mightContain(sku)) {
+            return false;
+        }
+        return !exactComplete || exact.contains(sku);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product previous = event.previous();
+        Product current = event.current();
+        changed(previous == null ? null : previous.getSku(), current == null ? null : current.getSku());
+    }
+
+    /*
+     * Un producto dejó de usar previousSku (null si no se sabe) y pasó a usar
+     * currentSku (null en las bajas). También lo invoca ProductCacheCoherence
+     * con los cambios confirmados en otras instancias.
+     */
+    public void changed(String previousSku, String currentSku) {
+        if (!enabled) {
+            return;
+        }
+        if (previousSku != null && !Objects.equals(previousSku, currentSku)) {
+            exact.remove(previousSku);
+        }
+        add(currentSku);
+    }
+
+    void add(String sku) {
+        if (sku == null) {
+            return;
+        }
+        bloomFilter.put(sku);
+        if (exactComplete) {
+            exact.add(sku);
+            if (exact.size() > maxExactSize) {
+                exactComplete = false;
+                exact.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.app.springboot.springboot_crud.validation;
+
+import java.util.Locale;
+
+/**
+ * La validación @IsExistsDB se ejecuta antes de la transacción que inserta el
+ * producto, así que dos peticiones simultáneas con el mismo sku pueden pasarla.
+ * La restricción única uk_products_sku de la tabla es la garantía final; esta
+ * clase reconoce su violación para responder con el mismo error de validación.
+ */
+public final class UniqueSku {
+
+    public static final String CONSTRAINT_NAME = "uk_products_sku";
+
+    public static final String ERROR_MESSAGE = "El campo sku " + IsExistsDB.MESSAGE;
+
+    private UniqueSku() {
+    }
+
+    public static boolean isViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(CONSTRAINT_NAME)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+}
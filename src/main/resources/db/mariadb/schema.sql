@@ -0,0 +1,55 @@
+-- Esquema de la aplicación para MariaDB 10.5+. La aplicación no modifica el
+-- esquema al arrancar (spring.jpa.hibernate.ddl-auto queda en none fuera del
+-- perfil dev); este script se aplica a mano y se puede repetir sobre una base
+-- de datos ya creada, incluida la tabla products original (id, sku, name,
+-- price, description).
+--
+--   mariadb -u root -p db_jpa_crud < src/main/resources/db/mariadb/schema.sql
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sku VARCHAR(255),
+    name VARCHAR(255),
+    price INT,
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- Control de concurrencia optimista y Last-Modified
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS updated_at DATETIME(6);
+
+-- Sku único (UniqueSku.CONSTRAINT_NAME). Falla si ya hay sku repetidos.
+ALTER TABLE products ADD UNIQUE INDEX IF NOT EXISTS uk_products_sku (sku);
+
+-- Perfil pooled-ids
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+
+-- Flujo de cambios (app.products.changes.enabled)
+CREATE TABLE IF NOT EXISTS product_changes (
+    change_offset BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    payload VARCHAR(4000),
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (change_offset)
+);
+
+CREATE TABLE IF NOT EXISTS product_change_sequence (
+    id INT NOT NULL,
+    last_offset BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Invalidación de cachés entre instancias (app.cache.invalidation.transport=jdbc)
+CREATE TABLE IF NOT EXISTS product_invalidations (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    origin VARCHAR(64) NOT NULL,
+    product_id BIGINT NOT NULL,
+    version BIGINT,
+    deleted BOOLEAN NOT NULL,
+    previous_sku VARCHAR(255),
+    sku VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
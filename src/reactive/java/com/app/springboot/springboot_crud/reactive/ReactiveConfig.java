@@ -0,0 +1,70 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringConstraintValidatorFactory;
+
+import com.app.springboot.springboot_crud.validation.IsExistsValidation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintValidatorFactory;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveConfig {
+
+    /*
+     * spring-boot-starter-web también está en el classpath: sin este bean
+     * WebFlux arrancaría sobre Tomcat, que es el primero que prueba Spring Boot.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /*
+     * Mismo Validator que el de la aplicación servlet (mensajes de
+     * messages.properties), salvo @IsExistsDB: IsExistsValidation consulta la
+     * base de datos de forma bloqueante, así que aquí siempre pasa y
+     * ReactiveProductController comprueba el sku con existsBySku de R2DBC.
+     */
+    @Bean
+    public static LocalValidatorFactoryBean defaultValidator(ApplicationContext applicationContext) {
+        AutowireCapableBeanFactory beanFactory = applicationContext.getAutowireCapableBeanFactory();
+        ConstraintValidatorFactory delegate = new SpringConstraintValidatorFactory(beanFactory);
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setMessageInterpolator(new MessageInterpolatorFactory(applicationContext).getObject());
+        validator.setConstraintValidatorFactory(new ConstraintValidatorFactory() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                if (key == IsExistsValidation.class) {
+                    return (T) new IsExistsValidation() {
+
+                        @Override
+                        public boolean isValid(String sku, ConstraintValidatorContext context) {
+                            return true;
+                        }
+                    };
+                }
+                return delegate.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+                delegate.releaseInstance(instance);
+            }
+        });
+        return validator;
+    }
+
+}
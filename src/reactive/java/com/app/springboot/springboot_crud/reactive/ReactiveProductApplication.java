@@ -0,0 +1,42 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Variante reactiva del API de productos (perfil Maven reactive): WebFlux
+ * sobre Netty y R2DBC, sin JPA ni JDBC. Atiende el mismo contrato
+ * /api/products que ProductController sobre la misma tabla products.
+ *
+ * mvn -Preactive spring-boot:run
+ * -Dspring-boot.run.main-class=com.app.springboot.springboot_crud.reactive.ReactiveProductApplication
+ *
+ * Solo se escanea este paquete. SpringbootCrudApplication también ve estas
+ * clases al compilar con el perfil, por eso todas son condicionales a una
+ * aplicación reactiva. No es @SpringBootApplication para que las pruebas
+ * de @SpringBootTest sigan encontrando una sola @SpringBootConfiguration.
+ */
+@Configuration(proxyBeanMethods = false)
+@ComponentScan
+@EnableAutoConfiguration(excludeName = {
+        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+        "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+        "org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration",
+        "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration" })
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveProductApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveProductApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.app.springboot.springboot_crud.controllers.ProductETags;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.validation.UniqueSku;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * El contrato de ProductController (listado por cursor, streaming, GET, POST,
+ * PUT con If-Match y DELETE) sin bloquear hilos: cada petición es una cadena
+ * de Mono/Flux sobre R2DBC.
+ *
+ * La validación usa las mismas anotaciones de Product (@IsRequired, @Size,
+ * @Min, ...) y el mismo formato de error, {"campo": "El campo campo ..."}.
+ * @IsExistsDB se resuelve con una consulta R2DBC después de las demás
+ * restricciones, y la restricción única de la tabla sigue siendo la garantía
+ * final como en la aplicación servlet.
+ */
+@RestController
+@RequestMapping("/api/products")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveProductController {
+
+    @Autowired
+    private ReactiveProductService service;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.products.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.products.max-page-size:1000}")
+    private int maxPageSize;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Product>>> list(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size, ServerHttpRequest request) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return service.findPage(after, pageSize).collectList().map(products -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (products.size() == pageSize) {
+                Long next = products.get(products.size() - 1).getId();
+                String nextUri = UriComponentsBuilder.fromUri(request.getURI())
+                        .replaceQueryParam("after", next)
+                        .replaceQueryParam("size", pageSize)
+                        .toUriString();
+                response.header("X-Next-Cursor", String.valueOf(next))
+                        .header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+            }
+            return response.body(products);
+        });
+    }
+
+    /*
+     * Listado completo: las filas se piden a la base de datos a medida que el
+     * cliente las consume. Con Accept: application/x-ndjson se escribe un
+     * producto por línea; en otro caso, un arreglo JSON escrito por partes.
+     */
+    @GetMapping(value = "/stream", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Product> stream() {
+        return service.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> view(@PathVariable Long id) {
+        return service.findById(id)
+                .map(product -> withValidators(ResponseEntity.ok(), product))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> create(@RequestBody Product product) {
+        return validate(product).<ResponseEntity<?>>flatMap(errors -> {
+            if (!errors.isEmpty()) {
+                return Mono.just(ResponseEntity.badRequest().body(errors));
+            }
+            return service.save(product).map(saved -> withValidators(ResponseEntity.status(HttpStatus.CREATED), saved));
+        });
+    }
+
+    /*
+     * Con If-Match la actualización solo se aplica si el producto sigue en la
+     * versión del ETag enviado; en otro caso se responde 412.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> update(@RequestBody Product product, @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return validate(product).<ResponseEntity<?>>flatMap(errors -> {
+            if (!errors.isEmpty()) {
+                return Mono.just(ResponseEntity.badRequest().body(errors));
+            }
+            Long expectedVersion = expectedVersion(ifMatch, id);
+            if (expectedVersion != null && expectedVersion == ProductETags.NO_MATCH) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+            return service.update(id, product, expectedVersion)
+                    .map(updated -> withValidators(ResponseEntity.status(HttpStatus.CREATED), updated))
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Product>> delete(@PathVariable Long id) {
+        return service.delete(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (UniqueSku.isViolation(ex)) {
+            return ResponseEntity.badRequest().body(Map.of("sku", UniqueSku.ERROR_MESSAGE));
+        }
+        throw ex;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    /*
+     * Errores de las restricciones de Product y, si el sku no tiene otro error,
+     * el de @IsExistsDB.
+     */
+    private Mono<Map<String, String>> validate(Product product) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<Product> violation : validator.validate(product)) {
+            String field = violation.getPropertyPath().toString();
+            errors.put(field, "El campo " + field + " " + violation.getMessage());
+        }
+        if (errors.containsKey("sku")) {
+            return Mono.just(errors);
+        }
+        return service.existsBySku(product.getSku()).map(exists -> {
+            if (exists) {
+                errors.put("sku", UniqueSku.ERROR_MESSAGE);
+            }
+            return errors;
+        });
+    }
+
+    /*
+     * null si la petición es incondicional (sin If-Match o con If-Match: *).
+     */
+    private static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ProductETags.expectedVersion(ifMatch, id);
+    }
+
+    private static ResponseEntity<Product> withValidators(ResponseEntity.BodyBuilder response, Product product) {
+        if (product.getVersion() != null) {
+            response.eTag(ProductETags.of(product));
+        }
+        if (product.getUpdatedAt() != null) {
+            response.lastModified(product.getUpdatedAt());
+        }
+        return response.body(product);
+    }
+
+}
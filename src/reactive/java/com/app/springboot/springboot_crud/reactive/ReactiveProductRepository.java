@@ -0,0 +1,130 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acceso R2DBC a la tabla products, con las mismas sentencias que
+ * ProductJdbcRepository. Las filas se mapean a Product, que aquí es solo un
+ * objeto de datos: no hay contexto de persistencia.
+ *
+ * Las fechas se guardan como LocalDateTime en UTC, igual que con
+ * hibernate.jdbc.time_zone=UTC.
+ */
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveProductRepository {
+
+    static final String COLUMNS = "id, sku, name, price, description, version, updated_at";
+
+    @Autowired
+    private DatabaseClient client;
+
+    @Value("${app.products.stream.fetch-size:500}")
+    private int fetchSize;
+
+    /*
+     * Recorre la tabla ordenada por id. Las filas se piden al driver según la
+     * demanda del suscriptor, de a fetch-size como máximo.
+     */
+    public Flux<Product> findAll() {
+        return client.sql("SELECT " + COLUMNS + " FROM products ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveProductRepository::map)
+                .all();
+    }
+
+    public Flux<Product> findPage(long afterId, int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM products WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::map)
+                .all();
+    }
+
+    public Mono<Product> findById(Long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::map)
+                .one();
+    }
+
+    public Mono<Boolean> existsBySku(String sku) {
+        return client.sql("SELECT 1 FROM products WHERE sku = :sku LIMIT 1")
+                .bind("sku", sku)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Long> insert(Product product, Instant updatedAt) {
+        return client.sql("INSERT INTO products (sku, name, price, description, version, updated_at)"
+                + " VALUES (:sku, :name, :price, :description, 0, :updatedAt)")
+                .bind("sku", product.getSku())
+                .bind("name", product.getName())
+                .bind("price", product.getPrice())
+                .bind("description", product.getDescription())
+                .bind("updatedAt", LocalDateTime.ofInstant(updatedAt, ZoneOffset.UTC))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /*
+     * Con expectedVersion distinto de null solo se aplica si la fila sigue en
+     * esa versión. Devuelve el número de filas modificadas (0 o 1).
+     */
+    public Mono<Long> update(Long id, Product product, Long expectedVersion, Instant updatedAt) {
+        String sql = "UPDATE products SET sku = :sku, name = :name, price = :price, description = :description,"
+                + " version = version + 1, updated_at = :updatedAt WHERE id = :id";
+        if (expectedVersion != null) {
+            sql += " AND version = :version";
+        }
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql)
+                .bind("sku", product.getSku())
+                .bind("name", product.getName())
+                .bind("price", product.getPrice())
+                .bind("description", product.getDescription())
+                .bind("updatedAt", LocalDateTime.ofInstant(updatedAt, ZoneOffset.UTC))
+                .bind("id", id);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> delete(Long id) {
+        return client.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    static Product map(Readable row) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setSku(row.get("sku", String.class));
+        product.setName(row.get("name", String.class));
+        product.setPrice(row.get("price", Integer.class));
+        product.setDescription(row.get("description", String.class));
+        product.setVersion(row.get("version", Long.class));
+        LocalDateTime updatedAt = row.get("updated_at", LocalDateTime.class);
+        product.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant(ZoneOffset.UTC));
+        return product;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operaciones de ProductServiceImpl sobre ReactiveProductRepository. Las
+ * escrituras de varias sentencias se ejecutan en una transacción R2DBC con
+ * TransactionalOperator. No se publican ProductChangedEvent: en esta
+ * aplicación no hay cachés ni índices en memoria que mantener.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveProductService {
+
+    @Autowired
+    private ReactiveProductRepository repository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    public Flux<Product> findAll() {
+        return repository.findAll();
+    }
+
+    public Flux<Product> findPage(Long afterId, int size) {
+        return repository.findPage(afterId == null ? 0L : afterId, size);
+    }
+
+    public Mono<Product> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    public Mono<Boolean> existsBySku(String sku) {
+        return repository.existsBySku(sku);
+    }
+
+    public Mono<Product> save(Product product) {
+        Instant updatedAt = now();
+        return repository.insert(product, updatedAt).map(id -> {
+            product.setId(id);
+            product.setVersion(0L);
+            product.setUpdatedAt(updatedAt);
+            return product;
+        });
+    }
+
+    /*
+     * Sin expectedVersion la actualización es incondicional. Con
+     * expectedVersion, si la versión ya no coincide se emite
+     * OptimisticLockingFailureException; si el producto no existe, vacío.
+     */
+    public Mono<Product> update(Long id, Product product, Long expectedVersion) {
+        return repository.update(id, product, expectedVersion, now())
+                .flatMap(updated -> {
+                    if (updated > 0) {
+                        return repository.findById(id);
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.empty();
+                    }
+                    return repository.findById(id).flatMap(current -> Mono.error(new OptimisticLockingFailureException(
+                            "El producto " + id + " ya no está en la versión " + expectedVersion)));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Product> delete(Long id) {
+        return repository.findById(id)
+                .flatMap(product -> repository.delete(id).filter(deleted -> deleted > 0).map(deleted -> product))
+                .as(transactionalOperator::transactional);
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.app.springboot.springboot_crud.reactive;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.validation.UniqueSku;
+
+@SpringBootTest(classes = ReactiveProductApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.main.web-application-type=reactive",
+		"spring.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.r2dbc.username=sa", "spring.r2dbc.password=", "spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:reactive-schema.sql" })
+class ReactiveProductControllerTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Test
+	void crudWithConditionalUpdate() {
+		Product created = client.post().uri("/api/products").bodyValue(product("RX-1", 100))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectHeader().exists(HttpHeaders.ETAG)
+				.expectBody(Product.class).returnResult().getResponseBody();
+		String etag = "\"" + created.getId() + "-" + created.getVersion() + "\"";
+
+		client.get().uri("/api/products/{id}", created.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.sku").isEqualTo("RX-1");
+
+		client.put().uri("/api/products/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, "\"" + created.getId() + "-99\"")
+				.bodyValue(product("RX-1B", 200))
+				.exchange()
+				.expectStatus().isEqualTo(412);
+		client.put().uri("/api/products/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, etag)
+				.bodyValue(product("RX-1B", 200))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getId() + "-1\"")
+				.expectBody().jsonPath("$.price").isEqualTo(200);
+
+		client.delete().uri("/api/products/{id}", created.getId())
+				.exchange()
+				.expectStatus().isOk();
+		client.get().uri("/api/products/{id}", created.getId())
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void validationErrorsUseTheServletFormat() {
+		Product invalid = product("RX-2", 5);
+		invalid.setName("ab");
+		invalid.setDescription(" ");
+		client.post().uri("/api/products").bodyValue(invalid)
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.name").value(message -> assertTrue(message.toString().startsWith("El campo name ")))
+				.jsonPath("$.price").isEqualTo("El campo price debe ser un valor mayor o igual que 10")
+				.jsonPath("$.description").exists();
+
+		client.post().uri("/api/products").bodyValue(product("RX-3", 100)).exchange().expectStatus().isCreated();
+		client.post().uri("/api/products").bodyValue(product("RX-3", 100))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(Map.class).isEqualTo(Map.of("sku", UniqueSku.ERROR_MESSAGE));
+	}
+
+	@Test
+	void streamsNdjsonAndPagesWithCursor() {
+		for (int i = 0; i < 3; i++) {
+			client.post().uri("/api/products").bodyValue(product("RX-S" + i, 100)).exchange().expectStatus().isCreated();
+		}
+
+		List<Product> streamed = client.get().uri("/api/products/stream")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Product.class).getResponseBody()
+				.collectList().block();
+		assertTrue(streamed.stream().map(Product::getSku).toList().containsAll(List.of("RX-S0", "RX-S1", "RX-S2")));
+
+		List<Product> page = client.get().uri("/api/products?size=1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().exists("X-Next-Cursor")
+				.expectBodyList(Product.class).returnResult().getResponseBody();
+		assertEquals(1, page.size());
+	}
+
+}
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sku VARCHAR(255),
+    name VARCHAR(255),
+    price INT,
+    description VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_products_sku UNIQUE (sku)
+);
@@ -0,0 +1,29 @@
+package com.app.springboot.springboot_crud;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.app.springboot.springboot_crud.validation.IsExistsValidation;
+import com.app.springboot.springboot_crud.validation.RequiredValidation;
+
+class AppRuntimeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	@Test
+	void registersValidatorsAndMessages() {
+		new AppRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		assertTrue(RuntimeHintsPredicates.reflection().onType(IsExistsValidation.class)
+				.withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+				.test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(RequiredValidation.class)
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+		assertTrue(RuntimeHintsPredicates.resource().forResource("messages.properties").test(hints));
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.app.springboot.springboot_crud;
+
+import com.app.springboot.springboot_crud.entities.Product;
+
+/**
+ * Productos de prueba válidos para Product (nombre de 3 a 20 caracteres,
+ * precio mínimo 10) compartidos por las pruebas.
+ */
+public final class ProductFixtures {
+
+	private ProductFixtures() {
+	}
+
+	public static Product product(String sku) {
+		return product(sku, 100);
+	}
+
+	public static Product product(String sku, int price) {
+		return product(sku, "Producto", price, "Descripción");
+	}
+
+	public static Product product(String sku, String name, Integer price, String description) {
+		Product product = new Product();
+		product.setSku(sku);
+		product.setName(name);
+		product.setPrice(price);
+		product.setDescription(description);
+		return product;
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+/**
+ * Bytes transferidos y latencia del listado de productos según la
+ * codificación (sin comprimir, gzip, deflate) y la versión de HTTP (HTTP/1.1 o
+ * h2c), para páginas de 10, 100 y 1000 productos y para /stream completo.
+ *
+ * mvn -Pbenchmark test -Dtest=CompressionBenchmark
+ *
+ * El cliente HTTP del JDK no descomprime, así que bytes/petición es lo que
+ * viajó por la red (sin cabeceras).
+ */
+@Tag("benchmark")
+class CompressionBenchmark {
+
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 32);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 5));
+	private static final int PRODUCTS = Integer.getInteger("benchmark.products", 5_000);
+
+	@Test
+	void compareEncodingsAndProtocols() throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+				.properties("server.port=0", "spring.jpa.show-sql=false", "app.compression.enabled=true",
+						"server.http2.enabled=true", "app.products.max-page-size=1000",
+						"app.products.listing-cache.enabled=true")
+				.run()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			seed(context.getBean(ProductService.class));
+			String base = "http://localhost:" + port + "/api/products";
+
+			System.out.printf("%nListado de productos, %d clientes, %ds por caso%n", CONCURRENCY, DURATION.toSeconds());
+			for (HttpClient.Version version : HttpClient.Version.values()) {
+				HttpClient client = HttpClient.newBuilder().version(version).build();
+				for (String path : List.of("?size=10", "?size=100", "?size=1000", "/stream")) {
+					for (String encoding : List.of("identity", "gzip", "deflate")) {
+						HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+								.header("Accept-Encoding", encoding)
+								.GET()
+								.build();
+						HttpLoadDriver.run(client, CONCURRENCY, Duration.ofSeconds(1), () -> request);
+						HttpLoadDriver.Result result = HttpLoadDriver.run(client, CONCURRENCY, DURATION, () -> request);
+						System.out.printf("%-8s %-11s %-8s %,10d bytes/petición  %s%n", version, path, encoding,
+								result.bytes() / Math.max(1, result.requests()), result);
+					}
+				}
+			}
+		}
+	}
+
+	private static void seed(ProductService service) {
+		String prefix = "CMP-" + System.currentTimeMillis() + "-";
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku(prefix + i);
+			product.setName("Producto " + i);
+			product.setPrice(10 + i % 1000);
+			product.setDescription("Descripción del producto de prueba número " + i);
+			products.add(product);
+		}
+		service.saveAll(products);
+	}
+
+}
@@ -0,0 +1,185 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Compara el CRUD de ProductController con la configuración por defecto y con
+ * el perfil perf (sentencias preparadas en el servidor y cacheadas, pool
+ * fijo, sin show-sql). Necesita un MariaDB real, porque las opciones del
+ * perfil son del driver de MariaDB:
+ *
+ * mvn -Pbenchmark test -Dbenchmark.mariadb.url=jdbc:mariadb://localhost:3307/db_jpa_crud
+ *
+ * Además del rendimiento muestra el tiempo de obtención de conexiones
+ * (hikaricp.connections.acquire) y el máximo de peticiones esperando una
+ * conexión (hikaricp.connections.pending).
+ *
+ * Una tercera ejecución repite el perfil perf con el flujo de cambios
+ * (app.products.changes.enabled): cada escritura bloquea la fila de
+ * product_change_sequence hasta el commit, así que la diferencia con la
+ * anterior es el costo de serializar las escrituras.
+ */
+@Tag("benchmark")
+class ConnectionPoolProfileBenchmark {
+
+	private static final String URL = System.getProperty("benchmark.mariadb.url");
+	private static final String USERNAME = System.getProperty("benchmark.mariadb.username", "root");
+	private static final String PASSWORD = System.getProperty("benchmark.mariadb.password", "root");
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 15));
+
+	record Run(HttpLoadDriver.Result result, Timer acquire, double maxPending) {
+
+		@Override
+		public String toString() {
+			return String.format("%s%n    adquisición de conexión: media=%.3fms máx=%.3fms  pendientes máx=%.0f", result,
+					acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS), maxPending);
+		}
+	}
+
+	@Test
+	void compareDefaultAndPerfProfiles() throws Exception {
+		assumeTrue(URL != null, "-Dbenchmark.mariadb.url no configurado");
+
+		Run defaults = run("default", false);
+		Run perf = run("perf", false);
+		Run perfWithChanges = run("perf", true);
+
+		System.out.printf("%nCRUD de ProductController, %d clientes, %ds%n", CONCURRENCY, DURATION.toSeconds());
+		System.out.println("por defecto: " + defaults);
+		System.out.println("perfil perf: " + perf);
+		System.out.println("perf + flujo de cambios: " + perfWithChanges);
+	}
+
+	private Run run(String profile, boolean changes) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+				.profiles(profile)
+				// show-sql=true es el valor por defecto de application.properties; el perfil lo desactiva
+				.properties("server.port=0", "spring.cache.type=none", "spring.jpa.show-sql=true")
+				// por línea de comandos para tener prioridad sobre el H2 de src/test/resources
+				.run("--spring.datasource.url=" + URL,
+						"--spring.datasource.username=" + USERNAME,
+						"--spring.datasource.password=" + PASSWORD,
+						"--spring.datasource.driver-class-name=org.mariadb.jdbc.Driver",
+						"--spring.jpa.database-platform=org.hibernate.dialect.MariaDBDialect",
+						"--spring.jpa.hibernate.ddl-auto=update",
+						"--app.products.mutations.delete-returning=true",
+						"--app.products.mutations.update-returning=true",
+						"--app.products.changes.enabled=" + changes)) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			String prefix = profile.toUpperCase() + "-" + System.currentTimeMillis() + "-";
+			Long firstId = seed(context.getBean(ProductService.class), prefix);
+
+			String base = "http://localhost:" + port + "/api/products";
+			AtomicLong sequence = new AtomicLong();
+			Supplier<HttpRequest> requests = () -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				long id = firstId + random.nextInt(1_000);
+				int kind = random.nextInt(100);
+				if (kind < 50) {
+					return HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+				}
+				if (kind < 70) {
+					return HttpRequest.newBuilder(URI.create(base + "?after=" + id + "&size=20")).GET().build();
+				}
+				if (kind < 85) {
+					return json(HttpRequest.newBuilder(URI.create(base + "/" + id)), "PUT",
+							body(prefix + "U" + id, id));
+				}
+				long n = sequence.incrementAndGet();
+				return json(HttpRequest.newBuilder(URI.create(base)), "POST", body(prefix + "C" + n, n));
+			};
+
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			HttpLoadDriver.run(client, CONCURRENCY, Duration.ofSeconds(3), requests);
+
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			PendingSampler pending = new PendingSampler(registry);
+			HttpLoadDriver.Result result;
+			try {
+				result = HttpLoadDriver.run(client, CONCURRENCY, DURATION, requests);
+			} finally {
+				pending.stop();
+			}
+			return new Run(result, registry.get("hikaricp.connections.acquire").timer(), pending.max());
+		}
+	}
+
+	private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+		return builder.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private static String body(String sku, long n) {
+		return "{\"sku\":\"" + sku + "\",\"name\":\"Producto " + n % 1000 + "\",\"price\":" + (10 + n % 1000)
+				+ ",\"description\":\"Producto de prueba\"}";
+	}
+
+	private static Long seed(ProductService service, String prefix) {
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			Product product = new Product();
+			product.setSku(prefix + i);
+			product.setName("Producto " + i);
+			product.setPrice(10 + i);
+			product.setDescription("Producto de prueba " + i);
+			products.add(product);
+		}
+		return service.saveAll(products).get(0).id();
+	}
+
+	/* Muestrea hikaricp.connections.pending cada 10 ms mientras dura la carga */
+	private static final class PendingSampler {
+
+		private final Thread thread;
+
+		private volatile double max;
+
+		PendingSampler(MeterRegistry registry) {
+			thread = Thread.ofPlatform().daemon().start(() -> {
+				while (!Thread.currentThread().isInterrupted()) {
+					max = Math.max(max, registry.get("hikaricp.connections.pending").gauge().value());
+					try {
+						Thread.sleep(10);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+		}
+
+		void stop() throws InterruptedException {
+			thread.interrupt();
+			thread.join();
+		}
+
+		double max() {
+			return max;
+		}
+	}
+
+}
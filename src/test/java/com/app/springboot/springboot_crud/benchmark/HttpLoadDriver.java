@@ -0,0 +1,137 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Generador de carga HTTP de lazo cerrado para las pruebas de rendimiento:
+ * cada uno de los clientes concurrentes (un hilo virtual por cliente) envía
+ * una petición, espera la respuesta y envía la siguiente hasta que se agota el
+ * tiempo. Las latencias se registran en un histograma HDR en nanosegundos.
+ */
+final class HttpLoadDriver {
+
+	private static final long HIGHEST_LATENCY = TimeUnit.SECONDS.toNanos(60);
+
+	/* Clave del resultado agregado de todas las operaciones */
+	static final String TOTAL = "total";
+
+	record Result(long requests, long errors, long bytes, Duration elapsed, Histogram latencies) {
+
+		double throughput() {
+			return requests / (elapsed.toNanos() / 1e9);
+		}
+
+		double percentileMillis(double percentile) {
+			return latencies.getValueAtPercentile(percentile) / 1e6;
+		}
+
+		double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%,.0f req/s  p50=%.2fms  p99=%.2fms  p999=%.2fms  errores=%d  bytes=%,d",
+					throughput(), percentileMillis(50), percentileMillis(99), percentileMillis(99.9), errors, bytes);
+		}
+	}
+
+	/* Petición etiquetada con la operación a la que se atribuye su latencia */
+	record Call(String operation, HttpRequest request) {
+	}
+
+	private HttpLoadDriver() {
+	}
+
+	static Result run(HttpClient client, int concurrency, Duration duration, Supplier<HttpRequest> requests)
+			throws InterruptedException {
+		return run(client, concurrency, duration, () -> new Call(TOTAL, requests.get()), status -> status >= 500)
+				.get(TOTAL);
+	}
+
+	/*
+	 * Como run, pero con un resultado por operación además del total (clave
+	 * TOTAL). failed decide qué códigos de estado cuentan como error.
+	 */
+	static Map<String, Result> run(HttpClient client, int concurrency, Duration duration, Supplier<Call> calls,
+			IntPredicate failed) throws InterruptedException {
+		Counters total = new Counters();
+		Map<String, Counters> operations = new ConcurrentHashMap<>();
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concurrency; i++) {
+				executor.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						Call call = calls.get();
+						Counters counters = TOTAL.equals(call.operation()) ? null
+								: operations.computeIfAbsent(call.operation(), operation -> new Counters());
+						long begin = System.nanoTime();
+						long bytes = 0;
+						boolean error;
+						try {
+							HttpResponse<byte[]> response = client.send(call.request(),
+									HttpResponse.BodyHandlers.ofByteArray());
+							bytes = response.body().length;
+							error = failed.test(response.statusCode());
+						} catch (IOException e) {
+							error = true;
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						}
+						long latency = Math.min(System.nanoTime() - begin, HIGHEST_LATENCY);
+						total.record(latency, bytes, error);
+						if (counters != null) {
+							counters.record(latency, bytes, error);
+						}
+					}
+				});
+			}
+		}
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		Map<String, Result> results = new TreeMap<>();
+		operations.forEach((operation, counters) -> results.put(operation, counters.result(elapsed)));
+		results.put(TOTAL, total.result(elapsed));
+		return results;
+	}
+
+	private static final class Counters {
+
+		private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+
+		private final LongAdder errors = new LongAdder();
+
+		private final LongAdder bytes = new LongAdder();
+
+		void record(long latency, long size, boolean error) {
+			bytes.add(size);
+			if (error) {
+				errors.increment();
+			}
+			latencies.recordValue(latency);
+		}
+
+		Result result(Duration elapsed) {
+			return new Result(latencies.getTotalCount(), errors.sum(), bytes.sum(), elapsed, latencies);
+		}
+	}
+
+}
@@ -0,0 +1,388 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+
+/**
+ * Prueba de carga de ProductController con una mezcla configurable de
+ * listado, consulta, alta, modificación y baja, que falla si la latencia o el
+ * rendimiento empeoran más allá de los umbrales:
+ *
+ * mvn -Pbenchmark test -Dtest=ProductApiLoadBenchmark
+ *
+ * La aplicación arranca con la configuración de producción
+ * (src/main/resources/application.properties y application-perf.properties,
+ * o los archivos de -Dbenchmark.properties), con las mismas funciones
+ * activadas, y solo se cambia la base de datos: por
+ * defecto el H2 en modo MariaDB de src/test/resources, así que no necesita
+ * nada instalado; con -Dbenchmark.mariadb.url, un MariaDB real. El catálogo
+ * (-Dbenchmark.products filas) se carga con lotes JDBC antes de
+ * ApplicationReadyEvent, de modo que los índices en memoria que estén
+ * activados (sku, búsqueda, listado, estadísticas) se construyen ya con esas
+ * filas.
+ *
+ * Parámetros:
+ * - benchmark.mix: pesos por operación (list:30,view:45,create:10,update:10,delete:5).
+ * - benchmark.concurrency, benchmark.seconds, benchmark.warmup-seconds.
+ * - benchmark.max-p99-ms, benchmark.max-p999-ms, benchmark.min-throughput,
+ *   benchmark.max-error-rate: umbrales absolutos sobre el total.
+ * - benchmark.baseline: resultados de una ejecución anterior con los mismos
+ *   parámetros; cada operación falla si su p99 sube o su rendimiento baja más
+ *   de benchmark.tolerance.
+ *
+ * Los resultados se escriben en benchmark.output
+ * (target/benchmark/product-api-load.properties) para usarlos como línea base.
+ */
+@Tag("benchmark")
+class ProductApiLoadBenchmark {
+
+	private static final String URL = System.getProperty("benchmark.mariadb.url");
+	private static final String USERNAME = System.getProperty("benchmark.mariadb.username", "root");
+	private static final String PASSWORD = System.getProperty("benchmark.mariadb.password", "root");
+	private static final int PRODUCTS = Integer.getInteger("benchmark.products", 100_000);
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 15));
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+	private static final String MIX = System.getProperty("benchmark.mix",
+			"list:30,view:45,create:10,update:10,delete:5");
+	private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("benchmark.max-p99-ms", "250"));
+	private static final double MAX_P999_MS = Double.parseDouble(System.getProperty("benchmark.max-p999-ms", "1000"));
+	private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("benchmark.min-throughput", "100"));
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("benchmark.max-error-rate", "0.001"));
+	private static final String BASELINE = System.getProperty("benchmark.baseline");
+	private static final double TOLERANCE = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.25"));
+	private static final Path OUTPUT = Path.of(System.getProperty("benchmark.output",
+			"target/benchmark/product-api-load.properties"));
+	private static final String PRODUCTION = System.getProperty("benchmark.properties",
+			"src/main/resources/application.properties,src/main/resources/application-perf.properties");
+
+	/* Lo que se toma del H2 de src/test/resources cuando no hay benchmark.mariadb.url */
+	private static final List<String> H2_PROPERTIES = List.of("spring.datasource.url", "spring.datasource.username",
+			"spring.datasource.password", "spring.datasource.driver-class-name", "spring.jpa.database-platform",
+			"spring.jpa.hibernate.ddl-auto", "app.products.mutations.delete-returning",
+			"app.products.mutations.update-returning");
+
+	private static final int SEED_BATCH = 5_000;
+
+	private static final String INSERT = "INSERT INTO products (sku, name, price, description, version, updated_at) "
+			+ "VALUES (?, ?, ?, ?, 0, ?)";
+
+	@Test
+	void mixedWorkloadStaysWithinThresholds() throws Exception {
+		if (PRODUCTS < 2) {
+			throw new IllegalArgumentException("benchmark.products debe ser al menos 2");
+		}
+		Map<String, Integer> weights = weights(MIX);
+		String prefix = "LOAD-" + System.currentTimeMillis() + "-";
+		Catalog catalog = new Catalog(prefix);
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+				.listeners(catalog)
+				.run(args())) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			Supplier<HttpLoadDriver.Call> calls = workload("http://localhost:" + port + "/api/products", prefix,
+					catalog.ids(), weights);
+
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			HttpLoadDriver.run(client, CONCURRENCY, WARMUP, calls, status -> status >= 400);
+			Map<String, HttpLoadDriver.Result> results = HttpLoadDriver.run(client, CONCURRENCY, DURATION, calls,
+					status -> status >= 400);
+
+			System.out.printf("%nProductController, %,d productos, %d clientes, %ds, mezcla %s%n", PRODUCTS,
+					CONCURRENCY, DURATION.toSeconds(), MIX);
+			results.forEach((operation, result) -> System.out.printf("%-7s %s%n", operation, result));
+
+			Properties current = write(results);
+			List<String> violations = thresholds(results.get(HttpLoadDriver.TOTAL));
+			if (BASELINE != null) {
+				violations.addAll(regressions(current, read(Path.of(BASELINE))));
+			}
+			assertTrue(violations.isEmpty(), () -> "Regresión de rendimiento:\n" + String.join("\n", violations));
+		}
+	}
+
+	/*
+	 * Los id se reparten para que ninguna petición falle por concurrencia: la
+	 * mitad inferior del catálogo se lista, consulta y modifica, y las bajas
+	 * consumen la mitad superior desde el final (cuando se agota, la baja pasa
+	 * a ser una consulta). Cada alta y modificación lleva un sku nuevo, porque
+	 * @IsExistsDB rechaza uno existente.
+	 */
+	private static Supplier<HttpLoadDriver.Call> workload(String base, String prefix, long[] ids,
+			Map<String, Integer> weights) {
+		String[] operations = weights.keySet().toArray(String[]::new);
+		int[] cumulative = new int[operations.length];
+		int sum = 0;
+		for (int i = 0; i < operations.length; i++) {
+			sum += weights.get(operations[i]);
+			cumulative[i] = sum;
+		}
+		int totalWeight = sum;
+		int stable = Math.max(1, ids.length / 2);
+		AtomicInteger nextDelete = new AtomicInteger(ids.length);
+		AtomicLong sequence = new AtomicLong();
+
+		return () -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int pick = random.nextInt(totalWeight);
+			int index = 0;
+			while (cumulative[index] <= pick) {
+				index++;
+			}
+			String operation = operations[index];
+			long id = ids[random.nextInt(stable)];
+			if (operation.equals("delete")) {
+				int position = nextDelete.decrementAndGet();
+				if (position < stable) {
+					operation = "view";
+				} else {
+					return new HttpLoadDriver.Call(operation,
+							HttpRequest.newBuilder(URI.create(base + "/" + ids[position])).DELETE().build());
+				}
+			}
+			return switch (operation) {
+				case "list" -> new HttpLoadDriver.Call(operation,
+						HttpRequest.newBuilder(URI.create(base + "?after=" + id + "&size=20")).GET().build());
+				case "view" -> new HttpLoadDriver.Call(operation,
+						HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build());
+				case "create" -> {
+					long n = sequence.incrementAndGet();
+					yield new HttpLoadDriver.Call(operation,
+							json(HttpRequest.newBuilder(URI.create(base)), "POST", body(prefix + "C" + n, n)));
+				}
+				case "update" -> {
+					long n = sequence.incrementAndGet();
+					yield new HttpLoadDriver.Call(operation,
+							json(HttpRequest.newBuilder(URI.create(base + "/" + id)), "PUT", body(prefix + "U" + n, n)));
+				}
+				default -> throw new IllegalStateException(operation);
+			};
+		};
+	}
+
+	/* "list:30,view:45,..." -> pesos por operación, en el orden dado */
+	private static Map<String, Integer> weights(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			String operation = parts[0].trim();
+			if (!List.of("list", "view", "create", "update", "delete").contains(operation) || parts.length != 2) {
+				throw new IllegalArgumentException("Operación no válida en benchmark.mix: " + entry);
+			}
+			int weight = Integer.parseInt(parts[1].trim());
+			if (weight > 0) {
+				weights.put(operation, weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("benchmark.mix no tiene ninguna operación con peso");
+		}
+		return weights;
+	}
+
+	private static List<String> thresholds(HttpLoadDriver.Result total) {
+		List<String> violations = new ArrayList<>();
+		if (total.percentileMillis(99) > MAX_P99_MS) {
+			violations.add(String.format("p99 %.2fms > %.2fms", total.percentileMillis(99), MAX_P99_MS));
+		}
+		if (total.percentileMillis(99.9) > MAX_P999_MS) {
+			violations.add(String.format("p999 %.2fms > %.2fms", total.percentileMillis(99.9), MAX_P999_MS));
+		}
+		if (total.throughput() < MIN_THROUGHPUT) {
+			violations.add(String.format("%,.0f req/s < %,.0f req/s", total.throughput(), MIN_THROUGHPUT));
+		}
+		if (total.errorRate() > MAX_ERROR_RATE) {
+			violations.add(String.format("errores %.4f > %.4f", total.errorRate(), MAX_ERROR_RATE));
+		}
+		return violations;
+	}
+
+	private static List<String> regressions(Properties current, Properties baseline) {
+		List<String> violations = new ArrayList<>();
+		for (String key : List.of("mix", "products", "concurrency")) {
+			if (!current.getProperty(key).equals(baseline.getProperty(key))) {
+				System.out.printf("Aviso: la línea base usa %s=%s y esta ejecución %s%n", key,
+						baseline.getProperty(key), current.getProperty(key));
+			}
+		}
+		for (String key : current.stringPropertyNames()) {
+			String value = baseline.getProperty(key);
+			if (value == null) {
+				continue;
+			}
+			double before = Double.parseDouble(value);
+			if (key.endsWith(".p99")) {
+				double now = Double.parseDouble(current.getProperty(key));
+				if (now > before * (1 + TOLERANCE)) {
+					violations.add(String.format("%s %.2fms, línea base %.2fms", key, now, before));
+				}
+			} else if (key.endsWith(".throughput")) {
+				double now = Double.parseDouble(current.getProperty(key));
+				if (now < before * (1 - TOLERANCE)) {
+					violations.add(String.format("%s %,.0f req/s, línea base %,.0f req/s", key, now, before));
+				}
+			}
+		}
+		return violations;
+	}
+
+	private static Properties write(Map<String, HttpLoadDriver.Result> results) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("mix", MIX);
+		properties.setProperty("products", String.valueOf(PRODUCTS));
+		properties.setProperty("concurrency", String.valueOf(CONCURRENCY));
+		properties.setProperty("seconds", String.valueOf(DURATION.toSeconds()));
+		results.forEach((operation, result) -> {
+			properties.setProperty(operation + ".requests", String.valueOf(result.requests()));
+			properties.setProperty(operation + ".errors", String.valueOf(result.errors()));
+			properties.setProperty(operation + ".throughput", String.format(Locale.ROOT, "%.1f", result.throughput()));
+			properties.setProperty(operation + ".p50", String.format(Locale.ROOT, "%.3f", result.percentileMillis(50)));
+			properties.setProperty(operation + ".p99", String.format(Locale.ROOT, "%.3f", result.percentileMillis(99)));
+			properties.setProperty(operation + ".p999", String.format(Locale.ROOT, "%.3f", result.percentileMillis(99.9)));
+		});
+		if (OUTPUT.getParent() != null) {
+			Files.createDirectories(OUTPUT.getParent());
+		}
+		try (Writer writer = Files.newBufferedWriter(OUTPUT)) {
+			properties.store(writer, "ProductApiLoadBenchmark");
+		}
+		System.out.println("Resultados en " + OUTPUT.toAbsolutePath());
+		return properties;
+	}
+
+	private static Properties read(Path path) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(path)) {
+			properties.load(reader);
+		}
+		return properties;
+	}
+
+	/*
+	 * src/test/resources/application.properties oculta el de producción en el
+	 * classpath, así que este y el del perfil perf se leen del disco, en ese
+	 * orden, y se pasan por línea de comandos, que tiene prioridad. Sin MariaDB se cambian la conexión y lo que H2 no
+	 * admite por los valores de src/test/resources.
+	 */
+	private static String[] args() throws IOException {
+		Map<String, String> properties = new LinkedHashMap<>();
+		for (String file : PRODUCTION.split(",")) {
+			Properties production = read(Path.of(file.trim()));
+			production.stringPropertyNames().stream().sorted()
+					.forEach(name -> properties.put(name, production.getProperty(name)));
+		}
+		properties.put("server.port", "0");
+		properties.put("spring.jpa.show-sql", "false");
+		properties.put("app.products.listing-cache.max-products", String.valueOf(Math.max(200_000, 2 * PRODUCTS)));
+		if (URL == null) {
+			Properties test = new Properties();
+			try (InputStream in = ProductApiLoadBenchmark.class.getResourceAsStream("/application.properties")) {
+				test.load(in);
+			}
+			// opciones del driver de MariaDB que H2 rechaza
+			properties.keySet().removeIf(name -> name.startsWith("spring.datasource.hikari.data-source-properties."));
+			H2_PROPERTIES.forEach(name -> properties.put(name, test.getProperty(name)));
+		} else {
+			properties.put("spring.datasource.url", URL);
+			properties.put("spring.datasource.username", USERNAME);
+			properties.put("spring.datasource.password", PASSWORD);
+			properties.put("spring.jpa.hibernate.ddl-auto", "update");
+		}
+		return properties.entrySet().stream()
+				.map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+				.toArray(String[]::new);
+	}
+
+	private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+		return builder.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private static String body(String sku, long n) {
+		return "{\"sku\":\"" + sku + "\",\"name\":\"Producto " + n % 1000 + "\",\"price\":" + (10 + n % 1000)
+				+ ",\"description\":\"Producto de prueba\"}";
+	}
+
+	/*
+	 * Carga el catálogo con lotes JDBC en ApplicationStartedEvent: el esquema
+	 * ya existe y los índices que se llenan en ApplicationReadyEvent todavía
+	 * no se han construido. Las filas no pasan por ProductService, así que no
+	 * generan eventos ni entradas en el registro de cambios.
+	 */
+	private static final class Catalog implements ApplicationListener<ApplicationEvent> {
+
+		private final String prefix;
+
+		private long[] ids;
+
+		Catalog(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public void onApplicationEvent(ApplicationEvent event) {
+			if (event instanceof ApplicationStartedEvent started) {
+				seed(started.getApplicationContext().getBean(JdbcTemplate.class));
+			}
+		}
+
+		long[] ids() {
+			return ids;
+		}
+
+		private void seed(JdbcTemplate jdbcTemplate) {
+			long start = System.nanoTime();
+			Timestamp updatedAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+			List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+			for (int i = 0; i < PRODUCTS; i++) {
+				rows.add(new Object[] { prefix + i, "Producto " + i % 1000, 10 + i % 1000, "Producto de prueba " + i,
+						updatedAt });
+				if (rows.size() == SEED_BATCH || i == PRODUCTS - 1) {
+					jdbcTemplate.batchUpdate(INSERT, rows);
+					rows.clear();
+				}
+			}
+			// los AUTO_INCREMENT de un lote pueden tener saltos: se leen los id reales
+			ids = jdbcTemplate.queryForList("SELECT id FROM products WHERE sku LIKE ? ORDER BY id", Long.class,
+					prefix + "%").stream().mapToLong(Long::longValue).toArray();
+			System.out.printf("Catálogo: %,d productos en %dms%n", ids.length,
+					Duration.ofNanos(System.nanoTime() - start).toMillis());
+		}
+	}
+
+}
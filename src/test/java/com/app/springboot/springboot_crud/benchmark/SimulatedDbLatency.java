@@ -0,0 +1,38 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.app.springboot.springboot_crud.repositories.ProductRepository;
+
+/**
+ * Simula una base de datos lenta: cada llamada a ProductRepository duerme el
+ * tiempo indicado antes de ejecutarse. La llamada ocurre dentro de la
+ * transacción del servicio, así que la conexión del pool queda ocupada
+ * mientras tanto, igual que con una consulta lenta real.
+ */
+final class SimulatedDbLatency implements BeanPostProcessor {
+
+	private final long latencyMillis;
+
+	SimulatedDbLatency(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof ProductRepository)) {
+			return bean;
+		}
+		ProxyFactory factory = new ProxyFactory();
+		factory.setTarget(bean);
+		factory.addInterface(ProductRepository.class);
+		factory.addAdvice((MethodInterceptor) invocation -> {
+			Thread.sleep(latencyMillis);
+			return invocation.proceed();
+		});
+		return factory.getProxy();
+	}
+
+}
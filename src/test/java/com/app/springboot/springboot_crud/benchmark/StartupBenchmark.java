@@ -0,0 +1,139 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tiempo de arranque y memoria residente de la aplicación empaquetada en tres
+ * modos: jar en la JVM, jar con el archivo CDS del perfil Maven cds y
+ * ejecutable nativo del perfil native. Los modos cuyo artefacto no existe se
+ * omiten. Necesita un MariaDB real:
+ *
+ * mvn -Pcds,native package native:compile
+ * mvn -Pbenchmark test -Dtest=StartupBenchmark -Dbenchmark.mariadb.url=jdbc:mariadb://localhost:3307/db_jpa_crud
+ *
+ * El arranque se mide desde que se lanza el proceso hasta que
+ * /actuator/health responde; la memoria es VmRSS de /proc (solo Linux) en
+ * ese momento.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+	private static final String URL = System.getProperty("benchmark.mariadb.url");
+	private static final String USERNAME = System.getProperty("benchmark.mariadb.username", "root");
+	private static final String PASSWORD = System.getProperty("benchmark.mariadb.password", "root");
+	private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 5);
+	private static final Path TARGET = Path.of(System.getProperty("benchmark.target", "target"));
+	private static final String JAR = System.getProperty("benchmark.jar", "springboot-crud-0.0.1-SNAPSHOT.jar");
+	private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+	record Sample(Duration startup, long rssKb) {
+	}
+
+	@Test
+	void compareStartupModes() throws Exception {
+		assumeTrue(URL != null, "-Dbenchmark.mariadb.url no configurado");
+
+		String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+		Path jar = TARGET.resolve(JAR);
+		Path cdsJar = TARGET.resolve("cds").resolve(JAR);
+		Path archive = TARGET.resolve("cds").resolve("application.jsa");
+		Path executable = TARGET.resolve("springboot-crud");
+
+		System.out.printf("%nArranque hasta /actuator/health, %d ejecuciones por modo%n", RUNS);
+		report("jvm", Files.exists(jar), List.of(java, "-jar", jar.toString()));
+		report("jvm + cds", Files.exists(archive),
+				List.of(java, "-XX:SharedArchiveFile=" + archive, "-jar", cdsJar.toString()));
+		report("nativo", Files.isExecutable(executable), List.of(executable.toString()));
+	}
+
+	private void report(String mode, boolean available, List<String> command) throws Exception {
+		if (!available) {
+			System.out.printf("%-10s no disponible%n", mode);
+			return;
+		}
+		List<Sample> samples = new ArrayList<>();
+		for (int i = 0; i < RUNS; i++) {
+			samples.add(start(command));
+		}
+		List<Long> millis = samples.stream().map(sample -> sample.startup().toMillis()).sorted().toList();
+		List<Long> rss = samples.stream().map(Sample::rssKb).sorted().toList();
+		System.out.printf("%-10s arranque mediana=%dms mín=%dms  RSS mediana=%,d KB%n", mode,
+				millis.get(millis.size() / 2), millis.get(0), rss.get(rss.size() / 2));
+	}
+
+	private Sample start(List<String> command) throws Exception {
+		int port = freePort();
+		List<String> args = new ArrayList<>(command);
+		args.addAll(List.of("--server.port=" + port,
+				"--spring.datasource.url=" + URL,
+				"--spring.datasource.username=" + USERNAME,
+				"--spring.datasource.password=" + PASSWORD));
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+				.timeout(Duration.ofSeconds(1))
+				.build();
+
+		long begin = System.nanoTime();
+		Process process = new ProcessBuilder(args)
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		try {
+			while (System.nanoTime() - begin < TIMEOUT.toNanos()) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("El proceso terminó con código " + process.exitValue());
+				}
+				try {
+					if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return new Sample(Duration.ofNanos(System.nanoTime() - begin), rssKb(process.pid()));
+					}
+				} catch (IOException e) {
+					// todavía no escucha
+				}
+				Thread.sleep(5);
+			}
+			throw new IllegalStateException("Sin respuesta de /actuator/health en " + TIMEOUT);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	private static long rssKb(long pid) throws IOException {
+		Path status = Path.of("/proc", Long.toString(pid), "status");
+		if (!Files.exists(status)) {
+			return -1;
+		}
+		for (String line : Files.readAllLines(status)) {
+			if (line.startsWith("VmRSS:")) {
+				return Long.parseLong(line.replaceAll("\\D", ""));
+			}
+		}
+		return -1;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
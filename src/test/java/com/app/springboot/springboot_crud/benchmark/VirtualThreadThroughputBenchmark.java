@@ -0,0 +1,82 @@
+package com.app.springboot.springboot_crud.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.springboot.springboot_crud.SpringbootCrudApplication;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+/**
+ * Compara el rendimiento de ProductController con hilos de plataforma y con
+ * hilos virtuales cuando cada consulta a la base de datos tarda
+ * benchmark.db-latency-ms. Se ejecuta con mvn -Pbenchmark test.
+ *
+ * Con hilos de plataforma la concurrencia queda limitada por los 200 hilos de
+ * Tomcat; con hilos virtuales, por el tamaño del pool de conexiones.
+ */
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmark {
+
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 600);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 15));
+	private static final long DB_LATENCY_MS = Long.getLong("benchmark.db-latency-ms", 20);
+	private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 400);
+
+	@Test
+	void compareThroughputUnderSimulatedDbLatency() throws Exception {
+		HttpLoadDriver.Result platform = run(false);
+		HttpLoadDriver.Result virtual = run(true);
+
+		System.out.printf("%nLatencia simulada %d ms, %d clientes, pool %d%n", DB_LATENCY_MS, CONCURRENCY, POOL_SIZE);
+		System.out.println("hilos de plataforma: " + platform);
+		System.out.println("hilos virtuales:     " + virtual);
+	}
+
+	private HttpLoadDriver.Result run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootCrudApplication.class)
+				.properties("server.port=0",
+						"spring.threads.virtual.enabled=" + virtualThreads,
+						"spring.cache.type=none",
+						"spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+				.initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SimulatedDbLatency(DB_LATENCY_MS)))
+				.run()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			Long id = seed(context.getBean(ProductService.class));
+
+			URI list = URI.create("http://localhost:" + port + "/api/products?size=20");
+			URI view = URI.create("http://localhost:" + port + "/api/products/" + id);
+			Supplier<HttpRequest> requests = () -> HttpRequest
+					.newBuilder(ThreadLocalRandom.current().nextBoolean() ? list : view).GET().build();
+
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			HttpLoadDriver.run(client, CONCURRENCY, Duration.ofSeconds(3), requests);
+			return HttpLoadDriver.run(client, CONCURRENCY, DURATION, requests);
+		}
+	}
+
+	private static Long seed(ProductService service) {
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			Product product = new Product();
+			product.setSku("VT-" + i);
+			product.setName("Producto " + i);
+			product.setPrice(10 + i);
+			product.setDescription("Producto de prueba " + i);
+			products.add(product);
+		}
+		return service.saveAll(products).get(0).id();
+	}
+
+}
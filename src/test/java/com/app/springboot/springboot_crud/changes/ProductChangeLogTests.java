@@ -0,0 +1,90 @@
+package com.app.springboot.springboot_crud.changes;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.springboot.springboot_crud.dto.ProductChange;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent.Type;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = "app.products.changes.enabled=true")
+class ProductChangeLogTests {
+
+	@Autowired
+	private ProductChangeLog changeLog;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void mutationsAreRecordedInOrder() {
+		long since = changeLog.lastOffset();
+
+		Product saved = service.save(product("CHG-1"));
+		service.update(saved.getId(), product("CHG-1B"));
+		service.delete(saved.getId());
+
+		List<ProductChange> changes = changeLog.read(since, 10);
+		assertEquals(List.of(Type.CREATED, Type.UPDATED, Type.DELETED),
+				changes.stream().map(ProductChange::type).toList());
+		for (int i = 0; i < changes.size(); i++) {
+			assertEquals(since + i + 1, changes.get(i).offset());
+			assertEquals(saved.getId(), changes.get(i).id());
+		}
+		assertTrue(changes.get(1).product().contains("\"sku\":\"CHG-1B\""));
+		assertNull(changes.get(2).product());
+	}
+
+	@Test
+	void batchIsRecordedInOneBlock() {
+		long since = changeLog.lastOffset();
+
+		service.saveAll(List.of(product("CHG-2"), product("CHG-3"), product("CHG-4")));
+
+		assertEquals(since + 3, changeLog.lastOffset());
+		assertEquals(3, changeLog.read(since, 10).size());
+	}
+
+	@Test
+	void rolledBackChangesLeaveNoOffsets() {
+		long since = changeLog.lastOffset();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			service.save(product("CHG-5"));
+			status.setRollbackOnly();
+		});
+
+		assertEquals(since, changeLog.lastOffset());
+		assertTrue(changeLog.read(since, 10).isEmpty());
+		assertFalse(changeLog.isExpired(since));
+	}
+
+	@Test
+	void readResumesFromCursor() {
+		long since = changeLog.lastOffset();
+		service.save(product("CHG-6"));
+		service.save(product("CHG-7"));
+
+		List<ProductChange> first = changeLog.read(since, 1);
+		List<ProductChange> rest = changeLog.read(first.get(0).offset(), 10);
+
+		assertEquals(1, first.size());
+		assertEquals(1, rest.size());
+		assertTrue(rest.get(0).product().contains("CHG-7"));
+	}
+
+}
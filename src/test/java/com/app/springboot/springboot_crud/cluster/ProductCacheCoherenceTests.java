@@ -0,0 +1,102 @@
+package com.app.springboot.springboot_crud.cluster;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.springboot.springboot_crud.CacheConfig;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = { "app.cache.invalidation.enabled=true", "app.cache.invalidation.node-id=nodo-a",
+		"app.cache.invalidation.poll-interval=20ms" })
+class ProductCacheCoherenceTests {
+
+	@Autowired
+	private ProductCacheCoherence coherence;
+
+	@Autowired
+	private InvalidationTransport transport;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void changeOnAnotherNodeEvictsCachedProduct() throws InterruptedException {
+		Product saved = service.save(product("COH-1"));
+		service.findById(saved.getId());
+
+		// otra instancia modifica la fila y publica su invalidación
+		jdbcTemplate.update("UPDATE products SET name = 'Remoto', version = version + 1 WHERE id = ?", saved.getId());
+		transport.publish(List.of(new InvalidationMessage("nodo-b", saved.getId(), saved.getVersion() + 1, false,
+				"COH-1", "COH-1")));
+
+		for (int i = 0; i < 250 && !"Remoto".equals(service.findById(saved.getId()).orElseThrow().getName()); i++) {
+			Thread.sleep(20);
+		}
+		assertEquals("Remoto", service.findById(saved.getId()).orElseThrow().getName());
+	}
+
+	@Test
+	void reorderedMessageDoesNotEvictNewerCopy() {
+		Product saved = service.save(product("COH-2"));
+		Product updated = service.update(saved.getId(), product("COH-2"), saved.getVersion()).orElseThrow();
+		Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+		assertNotNull(cache.get(saved.getId()));
+
+		coherence.receive(new InvalidationMessage("nodo-b", saved.getId(), saved.getVersion(), false, "COH-2", "COH-2"));
+
+		assertEquals(updated.getVersion(), cache.get(saved.getId(), Product.class).getVersion());
+	}
+
+	@Test
+	void readOlderThanFenceIsNotCached() {
+		Product saved = service.save(product("COH-3"));
+		Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+		cache.evict(saved.getId());
+
+		// el mensaje llega antes de que esta instancia vea la nueva versión
+		coherence.receive(new InvalidationMessage("nodo-b", saved.getId(), saved.getVersion() + 1, false, "COH-3", "COH-3"));
+		service.findById(saved.getId());
+
+		assertNull(cache.get(saved.getId()));
+	}
+
+	@Test
+	void multicastDatagramsRoundTrip() throws Exception {
+		List<InvalidationMessage> messages = IntStream.range(0, 200)
+				.mapToObj(i -> new InvalidationMessage("nodo-b", (long) i, i % 3 == 0 ? null : (long) i, i % 5 == 0,
+						"SKU-" + i, i % 5 == 0 ? null : "SKU-" + i))
+				.toList();
+
+		List<byte[]> datagrams = MulticastInvalidationTransport.encode(messages);
+		List<InvalidationMessage> decoded = new ArrayList<>();
+		for (byte[] datagram : datagrams) {
+			assertTrue(datagram.length <= MulticastInvalidationTransport.MAX_DATAGRAM);
+			decoded.addAll(MulticastInvalidationTransport.decode(datagram, datagram.length));
+		}
+
+		assertTrue(datagrams.size() > 1);
+		assertEquals(messages, decoded);
+	}
+
+}
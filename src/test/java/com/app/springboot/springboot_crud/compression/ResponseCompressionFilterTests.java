@@ -0,0 +1,99 @@
+package com.app.springboot.springboot_crud.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseCompressionFilterTests {
+
+	private final ResponseCompressionFilter filter = new ResponseCompressionFilter(1024, 6, 2,
+			List.of(MediaType.APPLICATION_JSON), EnumSet.allOf(ContentCoding.class));
+
+	@Test
+	void compressesLargeResponsesWithNegotiatedCoding() throws Exception {
+		byte[] body = json(5000);
+
+		MockHttpServletResponse gzip = execute("gzip, deflate", body, null);
+		assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("W/\"v1\"", gzip.getHeader(HttpHeaders.ETAG));
+		assertArrayEquals(body,
+				new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())).readAllBytes());
+
+		MockHttpServletResponse deflate = execute("gzip;q=0.5, deflate", body, null);
+		assertEquals("deflate", deflate.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(body,
+				new InflaterInputStream(new ByteArrayInputStream(deflate.getContentAsByteArray())).readAllBytes());
+	}
+
+	@Test
+	void smallOrEncodedResponsesAreWrittenAsIs() throws Exception {
+		byte[] small = json(100);
+		MockHttpServletResponse response = execute("gzip", small, null);
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(small.length, response.getContentLength());
+		assertArrayEquals(small, response.getContentAsByteArray());
+
+		byte[] large = json(5000);
+		MockHttpServletResponse encoded = execute("gzip", large, "br");
+		assertEquals("br", encoded.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(large, encoded.getContentAsByteArray());
+
+		MockHttpServletResponse refused = execute("gzip;q=0, identity", large, null);
+		assertNull(refused.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(large, refused.getContentAsByteArray());
+	}
+
+	private MockHttpServletResponse execute(String acceptEncoding, byte[] body, String contentEncoding)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				resp.setHeader(HttpHeaders.ETAG, "\"v1\"");
+				if (contentEncoding != null) {
+					resp.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+				}
+				// en trozos, como escribe Jackson
+				for (int i = 0; i < body.length; i += 300) {
+					resp.getOutputStream().write(body, i, Math.min(300, body.length - i));
+				}
+				resp.getOutputStream().flush();
+			}
+		}));
+		return response;
+	}
+
+	private static byte[] json(int length) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; json.length() < length - 1; i++) {
+			json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append('}');
+		}
+		return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,218 @@
+package com.app.springboot.springboot_crud.controllers;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void listPagesByCursorWithNextLink() throws Exception {
+		Long first = service.save(product("CTL-1")).getId();
+		Long second = service.save(product("CTL-2")).getId();
+		service.save(product("CTL-3"));
+
+		mvc.perform(get("/api/products").param("after", String.valueOf(first - 1)).param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(first))
+				.andExpect(jsonPath("$[1].id").value(second))
+				.andExpect(header().string("X-Next-Cursor", String.valueOf(second)))
+				.andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second)))
+				.andExpect(header().string(HttpHeaders.LINK, endsWith(">; rel=\"next\"")));
+	}
+
+	@Test
+	void lastPageHasNoNextCursor() throws Exception {
+		Long id = service.save(product("CTL-4")).getId();
+
+		mvc.perform(get("/api/products").param("after", String.valueOf(id - 1)).param("size", "1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].sku").value("CTL-4"))
+				.andExpect(header().doesNotExist("X-Next-Cursor"))
+				.andExpect(header().doesNotExist(HttpHeaders.LINK));
+	}
+
+	@Test
+	void fieldsNarrowsListedProperties() throws Exception {
+		Long id = service.save(product("CTL-F1", 250)).getId();
+
+		mvc.perform(get("/api/products").param("after", String.valueOf(id - 1)).param("size", "1")
+				.param("fields", "sku,price"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(id))
+				.andExpect(jsonPath("$[0].sku").value("CTL-F1"))
+				.andExpect(jsonPath("$[0].price").value(250))
+				.andExpect(jsonPath("$[0].version").exists())
+				.andExpect(jsonPath("$[0].name").doesNotExist())
+				.andExpect(jsonPath("$[0].description").doesNotExist());
+	}
+
+	@Test
+	void unknownFieldIsRejected() throws Exception {
+		mvc.perform(get("/api/products").param("fields", "sku,password"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.fields").value("El campo fields no admite la propiedad password"));
+	}
+
+	@Test
+	void searchRejectsInvertedPriceRange() throws Exception {
+		mvc.perform(get("/api/products/search").param("minPrice", "100").param("maxPrice", "50").param("sort", "price"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.maxPrice").value("El campo maxPrice debe ser mayor o igual que minPrice"));
+	}
+
+	@Test
+	void createBatchReportsEachItem() throws Exception {
+		mvc.perform(post("/api/products/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + json("CTL-B1") + ",{\"sku\":\"CTL-B2\",\"name\":\"ab\",\"price\":100,"
+						+ "\"description\":\"Descripción\"}," + json("CTL-B3") + "]"))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$[0].status").value("CREATED"))
+				.andExpect(jsonPath("$[0].id").value(notNullValue()))
+				.andExpect(jsonPath("$[1].status").value("INVALID"))
+				.andExpect(jsonPath("$[1].errors.name").value(notNullValue()))
+				.andExpect(jsonPath("$[2].status").value("CREATED"))
+				.andExpect(jsonPath("$[2].index").value(2));
+	}
+
+	/*
+	 * El sku repetido se inserta por JDBC, sin pasar por SkuIndex, para que
+	 * supere la validación y sea la restricción única la que haga fallar el
+	 * bloque; los demás elementos se guardan uno por uno con su id.
+	 */
+	@Test
+	void failedChunkIsRetriedItemByItem() throws Exception {
+		jdbcTemplate.update("INSERT INTO products (sku, name, price, description, version) VALUES (?, ?, ?, ?, 0)",
+				"CTL-B5", "Producto", 100, "Descripción");
+
+		mvc.perform(post("/api/products/batch").contentType("application/x-ndjson")
+				.content(json("CTL-B4") + "\n" + json("CTL-B5") + "\n" + json("CTL-B6") + "\n"))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$[0].status").value("CREATED"))
+				.andExpect(jsonPath("$[0].id").value(notNullValue()))
+				.andExpect(jsonPath("$[1].status").value("INVALID"))
+				.andExpect(jsonPath("$[1].errors.sku").value(notNullValue()))
+				.andExpect(jsonPath("$[2].status").value("CREATED"))
+				.andExpect(jsonPath("$[2].id").value(notNullValue()));
+	}
+
+	/*
+	 * Igual que en el alta, el sku repetido se inserta por JDBC para que el
+	 * bloque falle en la base de datos y se repita elemento por elemento.
+	 */
+	@Test
+	void updateBatchReportsEachItemAndRetriesFailedChunk() throws Exception {
+		Long first = service.save(product("CTL-U1")).getId();
+		Long second = service.save(product("CTL-U2")).getId();
+		Long third = service.save(product("CTL-U3")).getId();
+		jdbcTemplate.update("INSERT INTO products (sku, name, price, description, version) VALUES (?, ?, ?, ?, 0)",
+				"CTL-U4", "Producto", 100, "Descripción");
+
+		mvc.perform(put("/api/products/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + json(first, "CTL-U1B") + "," + json("CTL-U9") + "," + json(second, "CTL-U4") + ","
+						+ json(third, "CTL-U3B") + "]"))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$[0].status").value("UPDATED"))
+				.andExpect(jsonPath("$[0].id").value(first))
+				.andExpect(jsonPath("$[1].status").value("INVALID"))
+				.andExpect(jsonPath("$[1].errors.id").value("El campo id no puede ser nulo!"))
+				.andExpect(jsonPath("$[2].status").value("INVALID"))
+				.andExpect(jsonPath("$[2].errors.sku").value(notNullValue()))
+				.andExpect(jsonPath("$[3].status").value("UPDATED"))
+				.andExpect(jsonPath("$[3].id").value(third));
+
+		assertEquals("CTL-U1B", service.findById(first).orElseThrow().getSku());
+		assertEquals("CTL-U2", service.findById(second).orElseThrow().getSku());
+		assertEquals("CTL-U3B", service.findById(third).orElseThrow().getSku());
+	}
+
+	@Test
+	void deleteBatchReportsMissingIds() throws Exception {
+		Long id = service.save(product("CTL-B7")).getId();
+
+		mvc.perform(delete("/api/products/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + id + "," + Long.MAX_VALUE + "]"))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$[0].status").value("DELETED"))
+				.andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+	}
+
+	@Test
+	void viewAnswersNotModifiedForCurrentETag() throws Exception {
+		Product saved = service.save(product("CTL-E1"));
+		String etag = ProductETags.of(saved);
+
+		mvc.perform(get("/api/products/" + saved.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		mvc.perform(get("/api/products/" + saved.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void updateWithStaleIfMatchFails() throws Exception {
+		Product saved = service.save(product("CTL-E2"));
+		String etag = ProductETags.of(saved);
+
+		mvc.perform(put("/api/products/" + saved.getId()).header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON).content(json("CTL-E2B")))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + saved.getId() + "-" + (saved.getVersion() + 1) + "\""));
+		mvc.perform(put("/api/products/" + saved.getId()).header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON).content(json("CTL-E2C")))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void updateWithoutIfMatchReturnsNewETag() throws Exception {
+		Product saved = service.save(product("CTL-E3"));
+
+		mvc.perform(put("/api/products/" + saved.getId())
+				.contentType(MediaType.APPLICATION_JSON).content(json("CTL-E3B")))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.version").value(saved.getVersion() + 1))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + saved.getId() + "-" + (saved.getVersion() + 1) + "\""));
+	}
+
+	private static String json(String sku) {
+		return "{\"sku\":\"" + sku + "\",\"name\":\"Producto\",\"price\":100,\"description\":\"Descripción\"}";
+	}
+
+	private static String json(Long id, String sku) {
+		return "{\"id\":" + id + "," + json(sku).substring(1);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.app.springboot.springboot_crud.datasource;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+/*
+ * Dos bases H2 en memoria: la de src/test/resources hace de primario y
+ * "replica" de réplica. No hay replicación entre ellas, así que cada lectura
+ * muestra de qué base salió.
+ */
+@SpringBootTest(properties = {
+		"app.datasource.replicas.enabled=true",
+		"app.datasource.replicas.urls=" + ReplicaRoutingTests.REPLICA_URL,
+		"app.datasource.replicas.lag-query=",
+		"app.datasource.replicas.check-interval=1h",
+		"spring.cache.type=none" })
+class ReplicaRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	static final long REPLICA_ID = 900_001L;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private ProductJdbcRepository jdbcRepository;
+
+	@Autowired
+	private ReplicaPool replicaPool;
+
+	@BeforeAll
+	static void createReplica() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS products (id BIGINT PRIMARY KEY, sku VARCHAR(255), "
+					+ "name VARCHAR(255), price INT, description VARCHAR(255), version BIGINT NOT NULL DEFAULT 0, "
+					+ "updated_at TIMESTAMP(6))");
+			statement.execute("MERGE INTO products (id, sku, name, price, description) "
+					+ "VALUES (" + REPLICA_ID + ", 'REPLICA-ONLY', 'Réplica', 100, 'Solo en la réplica')");
+		}
+	}
+
+	@Test
+	void readOnlyMethodsReadFromReplica() {
+		assertTrue(service.findById(REPLICA_ID).isPresent());
+		assertTrue(service.existsBySku("REPLICA-ONLY"));
+		assertTrue(jdbcRepository.findById(REPLICA_ID).isEmpty());
+	}
+
+	@Test
+	void writesGoToPrimary() {
+		Product saved = service.save(product("RW-1"));
+
+		assertTrue(jdbcRepository.findById(saved.getId()).isPresent());
+		assertFalse(service.existsBySku("RW-1"));
+	}
+
+	@Test
+	void pinnedSessionReadsItsOwnWrites() {
+		service.save(product("RW-2"));
+		ReadYourWrites.pinUntil(System.currentTimeMillis() + 60_000);
+		try {
+			assertTrue(service.existsBySku("RW-2"));
+			assertTrue(service.findById(REPLICA_ID).isEmpty());
+		} finally {
+			ReadYourWrites.clear();
+		}
+	}
+
+	@Test
+	void unavailableReplicaFallsBackToPrimary() {
+		ReplicaPool.Replica replica = replicaPool.replicas().get(0);
+		replica.available = false;
+		try {
+			assertTrue(service.findById(REPLICA_ID).isEmpty());
+		} finally {
+			replica.available = true;
+		}
+	}
+
+}
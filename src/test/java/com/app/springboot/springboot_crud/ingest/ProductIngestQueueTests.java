@@ -0,0 +1,61 @@
+package com.app.springboot.springboot_crud.ingest;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.springboot.springboot_crud.dto.IngestStatus;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = { "app.products.ingest.enabled=true", "app.products.ingest.batch-size=10",
+		"app.products.ingest.max-delay=20ms" })
+class ProductIngestQueueTests {
+
+	@Autowired
+	private ProductIngestQueue queue;
+
+	@Autowired
+	private ProductService service;
+
+	@Test
+	void submittedProductsAreSavedInBatches() throws InterruptedException {
+		List<String> trackingIds = IntStream.range(0, 25)
+				.mapToObj(i -> queue.submit(product("INGEST-" + i)).orElseThrow())
+				.toList();
+
+		for (String trackingId : trackingIds) {
+			IngestStatus status = await(trackingId);
+			assertEquals(IngestStatus.State.CREATED, status.state());
+			assertNotNull(status.id());
+			assertEquals(status.id(), service.findById(status.id()).orElseThrow().getId());
+		}
+	}
+
+	@Test
+	void duplicateSkuIsReportedAsInvalid() throws InterruptedException {
+		String first = queue.submit(product("INGEST-DUP")).orElseThrow();
+		String second = queue.submit(product("INGEST-DUP")).orElseThrow();
+
+		assertEquals(IngestStatus.State.CREATED, await(first).state());
+		assertEquals(IngestStatus.State.INVALID, await(second).state());
+	}
+
+	private IngestStatus await(String trackingId) throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			IngestStatus status = queue.status(trackingId).orElseThrow();
+			if (status.state() != IngestStatus.State.PENDING) {
+				return status;
+			}
+			Thread.sleep(25);
+		}
+		return queue.status(trackingId).orElseThrow();
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.app.springboot.springboot_crud.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.app.springboot.springboot_crud.ProductFixtures;
+import com.app.springboot.springboot_crud.dto.ProductView;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class ProductJsonHttpMessageConverterTests {
+
+	private ObjectMapper objectMapper;
+
+	private ProductJsonHttpMessageConverter converter;
+
+	@BeforeEach
+	void setUp() {
+		// misma configuración que el ObjectMapper de Spring Boot
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		converter = new ProductJsonHttpMessageConverter(objectMapper);
+	}
+
+	@Test
+	void productIsWrittenExactlyLikeJackson() throws Exception {
+		assertSameBytes(product(1L, "SKU-1", "Teclado", "Descripción", Instant.parse("2024-03-01T10:15:30Z")));
+		assertSameBytes(product(2L, "a\"b\\c/\b\t\f\n\r\u0001\u001f\u007f", "ñandú €", "emoji 😀",
+				Instant.parse("1999-12-31T23:59:59.123Z")));
+		assertSameBytes(product(3L, "SKU-3", "Monitor", "Pantalla", Instant.parse("2024-02-29T00:00:00.000001Z")));
+		assertSameBytes(product(4L, "SKU-4", "Mouse", "Inalámbrico", Instant.ofEpochSecond(1_700_000_000L, 123_456_789)));
+		assertSameBytes(new Product());
+	}
+
+	@Test
+	void listsAndViewsAreWrittenExactlyLikeJackson() throws Exception {
+		List<Product> products = new ArrayList<>();
+		for (long i = 1; i <= 2_000; i++) {
+			products.add(product(i, "SKU-" + i, "Producto " + i, "Descripción " + i, Instant.ofEpochSecond(i * 86_400)));
+		}
+		assertSameBytes(products);
+		assertSameBytes(List.of());
+		assertSameBytes(Arrays.asList(product(1L, "SKU-1", "A", "B", null), null));
+		assertSameBytes(List.of(new ProductView(1L, "SKU-1", null, 150, null, 2L, null),
+				new ProductView(2L, null, null, null, null, 0L, Instant.parse("2024-01-01T00:00:00Z"))));
+	}
+
+	@Test
+	void otherCollectionsAreDelegatedToJackson() throws Exception {
+		assertSameBytes(List.of(Map.of("sku", "SKU-1"), "texto"));
+	}
+
+	@Test
+	void surrogatesAreEscapedLikeJackson() throws Exception {
+		assertSameBytes(product(1L, "SKU-1", "suelto \uD800 \uDC00", "par 😀 \uD83D\uDE00", null));
+	}
+
+	@Test
+	void productIsReadLikeJackson() throws Exception {
+		assertSameProduct("{\"id\":7,\"sku\":\"SKU-7\",\"name\":\"Teclado\",\"price\":150,\"description\":\"Descripción\"}");
+		assertSameProduct(" { \"sku\" : \"a\\\"b\\\\c\\/\\n\\u00e9\\uD83D\\uDE00\" , \"price\" : null , \"extra\" : true ,"
+				+ " \"version\" : 9 , \"updatedAt\" : \"2024-01-01T00:00:00Z\" } ");
+		assertSameProduct("{}");
+		// casos que resuelve Jackson
+		assertSameProduct("{\"price\":\"150\",\"name\":12}");
+		assertSameProduct("{\"price\":15.0,\"extra\":{\"a\":[1,2]}}");
+	}
+
+	@Test
+	void malformedJsonIsRejectedLikeJackson() {
+		assertThrows(HttpMessageNotReadableException.class, () -> read("{\"sku\":"));
+		assertThrows(HttpMessageNotReadableException.class, () -> read("{\"price\":01}"));
+	}
+
+	private void assertSameBytes(Object value) throws Exception {
+		assertArrayEquals(objectMapper.writeValueAsBytes(value), write(value));
+	}
+
+	private void assertSameProduct(String json) throws Exception {
+		Product expected = objectMapper.readValue(json, Product.class);
+		Product actual = read(json);
+		assertArrayEquals(objectMapper.writeValueAsBytes(expected), objectMapper.writeValueAsBytes(actual), json);
+		assertEquals(expected.getSku(), actual.getSku());
+	}
+
+	private byte[] write(Object value) throws Exception {
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+		converter.write(value, value.getClass(), MediaType.APPLICATION_JSON, output);
+		return output.getBodyAsBytes();
+	}
+
+	private Product read(String json) throws Exception {
+		return (Product) converter.read(Product.class, null, new MockHttpInputMessage(json.getBytes("UTF-8")));
+	}
+
+	private static Product product(Long id, String sku, String name, String description, Instant updatedAt) {
+		Product product = ProductFixtures.product(sku, name, 100, description);
+		product.setId(id);
+		product.setVersion(id == null ? null : id % 3);
+		product.setUpdatedAt(updatedAt);
+		return product;
+	}
+
+}
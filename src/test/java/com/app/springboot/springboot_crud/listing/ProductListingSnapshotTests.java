@@ -0,0 +1,113 @@
+package com.app.springboot.springboot_crud.listing;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = { "app.products.listing-cache.enabled=true",
+		"app.products.listing-cache.segment-size=2", "app.products.listing-cache.rebuild-delay=10ms" })
+class ProductListingSnapshotTests {
+
+	@Autowired
+	private ProductListingSnapshot listing;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void snapshotFollowsWrites() throws Exception {
+		ProductListingSnapshot.Snapshot before = await(snapshot -> true);
+
+		List<Product> saved = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			saved.add(service.save(product("LST-" + i)));
+		}
+		service.update(saved.get(3).getId(), product("LST-3B"));
+		service.delete(saved.get(5).getId());
+
+		ProductListingSnapshot.Snapshot after = await(snapshot -> json(snapshot).contains("LST-3B")
+				&& !json(snapshot).contains("LST-5"));
+		assertNotEquals(before.etag(false, false), after.etag(false, false));
+		assertEquals(expected(), objectMapper.readValue(json(after), new TypeReference<List<Product>>() {
+		}).stream().map(Product::getSku).toList());
+		assertEquals(after.count(), ndjson(after).lines().count());
+	}
+
+	@Test
+	void gzipBodyMatchesJson() throws Exception {
+		service.save(product("LST-GZ"));
+		ProductListingSnapshot.Snapshot snapshot = await(current -> json(current).contains("LST-GZ"));
+
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		snapshot.writeJson(json);
+		assertEquals(snapshot.jsonLength(), json.size());
+		ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+		snapshot.writeGzip(gzip);
+		assertEquals(snapshot.gzipLength(), gzip.size());
+		// un miembro gzip por segmento; GZIPInputStream los lee seguidos
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+			assertArrayEquals(json.toByteArray(), in.readAllBytes());
+		}
+	}
+
+	private List<String> expected() {
+		List<String> skus = new ArrayList<>();
+		service.forEach(product -> skus.add(product.getSku()));
+		return skus;
+	}
+
+	private ProductListingSnapshot.Snapshot await(Predicate<ProductListingSnapshot.Snapshot> condition)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			ProductListingSnapshot.Snapshot snapshot = listing.current();
+			if (snapshot != null && condition.test(snapshot)) {
+				return snapshot;
+			}
+			Thread.sleep(10);
+		}
+		return fail("El listado no se actualizó a tiempo");
+	}
+
+	private static String json(ProductListingSnapshot.Snapshot snapshot) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			snapshot.writeJson(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static String ndjson(ProductListingSnapshot.Snapshot snapshot) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeNdjson(out);
+		assertEquals(snapshot.ndjsonLength(), out.size());
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.app.springboot.springboot_crud.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.springboot.springboot_crud.ProductFixtures;
+import com.app.springboot.springboot_crud.dto.ProductSearchPage;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.search.ProductSearchQuery.Sort;
+import com.app.springboot.springboot_crud.services.ProductChangedEvent;
+
+class ProductSearchIndexTests {
+
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex();
+		index.onProductChanged(ProductChangedEvent.created(product(1L, "TEC-001", "Teclado mecánico", 1500, "Teclado con luces")));
+		index.onProductChanged(ProductChangedEvent.created(product(2L, "TEC-002", "Mouse inalámbrico", 400, "Compatible con teclado")));
+		index.onProductChanged(ProductChangedEvent.created(product(3L, "MON-001", "Monitor", 3000, "Pantalla de 27 pulgadas")));
+	}
+
+	@Test
+	void textMatchesNameAndDescriptionIgnoringAccents() {
+		ProductSearchPage page = index.search(query("TECLADO", null, null, null, Sort.RELEVANCE));
+
+		assertEquals(List.of(1L, 2L), ids(page));
+		assertEquals(2, page.total());
+		assertEquals(List.of(1L), ids(index.search(query("mecanico", null, null, null, Sort.RELEVANCE))));
+	}
+
+	@Test
+	void allTermsMustMatch() {
+		assertEquals(List.of(2L), ids(index.search(query("mouse teclado", null, null, null, Sort.RELEVANCE))));
+		assertEquals(List.of(), ids(index.search(query("mouse monitor", null, null, null, Sort.RELEVANCE))));
+	}
+
+	@Test
+	void textWithoutIndexableTermsMatchesNothing() {
+		ProductSearchPage page = index.search(query("a", null, null, null, Sort.RELEVANCE));
+
+		assertEquals(List.of(), ids(page));
+		assertEquals(0, page.total());
+	}
+
+	@Test
+	void filtersByPriceRangeAndSkuPrefix() {
+		assertEquals(List.of(2L, 1L), ids(index.search(query(null, 100, 2000, null, Sort.PRICE_ASC))));
+		assertEquals(List.of(3L, 1L), ids(index.search(query(null, 1000, null, null, Sort.PRICE_DESC))));
+		assertEquals(List.of(1L, 2L), ids(index.search(query(null, null, null, "TEC-", Sort.RELEVANCE))));
+	}
+
+	@Test
+	void invertedPriceRangeMatchesNothing() {
+		ProductSearchPage page = index.search(query(null, 2000, 100, null, Sort.PRICE_ASC));
+
+		assertEquals(List.of(), ids(page));
+		assertEquals(0, page.total());
+	}
+
+	@Test
+	void pagesReportTotalMatches() {
+		ProductSearchPage page = index.search(new ProductSearchQuery(null, null, null, null, Sort.PRICE_ASC, 1, 2));
+
+		assertEquals(List.of(3L), ids(page));
+		assertEquals(3, page.total());
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		Product previous = product(3L, "MON-001", "Monitor", 3000, "Pantalla de 27 pulgadas");
+		index.onProductChanged(ProductChangedEvent.updated(previous, product(3L, "MON-001", "Monitor curvo", 3500, "Pantalla")));
+		index.onProductChanged(ProductChangedEvent.deleted(product(2L, "TEC-002", "Mouse inalámbrico", 400, "Compatible con teclado")));
+
+		assertEquals(List.of(3L), ids(index.search(query("curvo", null, null, null, Sort.RELEVANCE))));
+		assertEquals(List.of(), ids(index.search(query("pulgadas", null, null, null, Sort.RELEVANCE))));
+		assertEquals(List.of(1L), ids(index.search(query("teclado", null, null, null, Sort.RELEVANCE))));
+	}
+
+	private static ProductSearchQuery query(String text, Integer minPrice, Integer maxPrice, String skuPrefix, Sort sort) {
+		return new ProductSearchQuery(text, minPrice, maxPrice, skuPrefix, sort, 0, 10);
+	}
+
+	private static List<Long> ids(ProductSearchPage page) {
+		return page.items().stream().map(Product::getId).toList();
+	}
+
+	private static Product product(Long id, String sku, String name, int price, String description) {
+		Product product = ProductFixtures.product(sku, name, price, description);
+		product.setId(id);
+		return product;
+	}
+
+}
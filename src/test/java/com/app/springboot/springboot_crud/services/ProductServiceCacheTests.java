@@ -0,0 +1,69 @@
+package com.app.springboot.springboot_crud.services;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.app.springboot.springboot_crud.CacheConfig;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+
+@SpringBootTest
+class ProductServiceCacheTests {
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private Cache<Object, Object> cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS)).getNativeCache();
+		cache.invalidateAll();
+	}
+
+	@Test
+	void findByIdIsServedFromCacheAfterFirstRead() {
+		Product saved = service.save(product("CACHE-1"));
+		cache.invalidateAll();
+		long hits = cache.stats().hitCount();
+
+		service.findById(saved.getId());
+		service.findById(saved.getId());
+
+		assertEquals(hits + 1, cache.stats().hitCount());
+	}
+
+	@Test
+	void updateWritesThroughToCache() {
+		Product saved = service.save(product("CACHE-2"));
+		service.findById(saved.getId());
+
+		Product changes = product("CACHE-2B");
+		changes.setName("Otro nombre");
+		service.update(saved.getId(), changes);
+
+		assertEquals("Otro nombre", service.findById(saved.getId()).orElseThrow().getName());
+	}
+
+	@Test
+	void deleteEvictsCachedValue() {
+		Product saved = service.save(product("CACHE-3"));
+		service.findById(saved.getId());
+
+		service.delete(saved.getId());
+
+		assertTrue(service.findById(saved.getId()).isEmpty());
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.app.springboot.springboot_crud.services;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.BatchItemResult.Status;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.repositories.ProductJdbcRepository;
+
+@SpringBootTest
+class ProductServiceMutationTests {
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private ProductJdbcRepository jdbcRepository;
+
+	@Test
+	void updateWritesAllColumnsAndIncrementsVersion() {
+		Product saved = service.save(product("MUT-1"));
+		Product changes = product("MUT-1B");
+		changes.setDescription("Nueva descripción");
+
+		Product updated = service.update(saved.getId(), changes).orElseThrow();
+
+		Product row = jdbcRepository.findById(saved.getId()).orElseThrow();
+		assertEquals("MUT-1B", row.getSku());
+		assertEquals("Nueva descripción", row.getDescription());
+		assertEquals(saved.getVersion() + 1, row.getVersion());
+		assertEquals(row.getVersion(), updated.getVersion());
+	}
+
+	@Test
+	void updateOfMissingProductIsEmpty() {
+		assertTrue(service.update(Long.MAX_VALUE, product("MUT-2")).isEmpty());
+	}
+
+	@Test
+	void conditionalUpdateChecksVersionWithoutReading() {
+		Product saved = service.save(product("MUT-6"));
+
+		Product updated = service.update(saved.getId(), product("MUT-6B"), saved.getVersion()).orElseThrow();
+
+		assertEquals(saved.getVersion() + 1, updated.getVersion());
+		assertThrows(OptimisticLockingFailureException.class,
+				() -> service.update(saved.getId(), product("MUT-6C"), saved.getVersion()));
+		assertTrue(service.update(Long.MAX_VALUE, product("MUT-6D"), 0).isEmpty());
+	}
+
+	@Test
+	void patchOnlyWritesGivenColumns() {
+		Product saved = service.save(product("MUT-3"));
+
+		Product patched = service.patch(saved.getId(), Map.of("price", 250), saved.getVersion()).orElseThrow();
+
+		assertEquals(250, patched.getPrice());
+		assertEquals("MUT-3", patched.getSku());
+		assertEquals("Descripción", patched.getDescription());
+		assertEquals(saved.getVersion() + 1, patched.getVersion());
+	}
+
+	@Test
+	void patchWithStaleVersionFails() {
+		Product saved = service.save(product("MUT-4"));
+		service.patch(saved.getId(), Map.of("name", "Primero"), null);
+
+		assertThrows(OptimisticLockingFailureException.class,
+				() -> service.patch(saved.getId(), Map.of("name", "Segundo"), saved.getVersion()));
+	}
+
+	@Test
+	void deleteReturnsRowOnce() {
+		Product saved = service.save(product("MUT-5"));
+
+		assertEquals("MUT-5", service.delete(saved.getId()).orElseThrow().getSku());
+		assertTrue(service.delete(saved.getId()).isEmpty());
+	}
+
+	@Test
+	void failedCreateBatchReportsIdsOfRetriedItems() {
+		service.save(product("MUT-6"));
+
+		List<BatchItemResult> results = service.saveAll(
+				List.of(product("MUT-7"), product("MUT-6"), product("MUT-8")));
+
+		assertEquals(Status.CREATED, results.get(0).status());
+		assertFalse(results.get(1).isSuccessful());
+		assertEquals(Status.CREATED, results.get(2).status());
+		assertEquals("MUT-7", jdbcRepository.findById(results.get(0).id()).orElseThrow().getSku());
+		assertEquals("MUT-8", jdbcRepository.findById(results.get(2).id()).orElseThrow().getSku());
+	}
+
+}
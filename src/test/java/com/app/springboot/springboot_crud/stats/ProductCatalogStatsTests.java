@@ -0,0 +1,60 @@
+package com.app.springboot.springboot_crud.stats;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.springboot.springboot_crud.dto.ProductStats;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = { "app.products.stats.enabled=true", "app.products.stats.buckets=100,1000" })
+class ProductCatalogStatsTests {
+
+	@Autowired
+	private ProductCatalogStats stats;
+
+	@Autowired
+	private ProductService service;
+
+	@Test
+	void writesUpdateAggregatesIncrementally() throws Exception {
+		ProductStats before = await();
+
+		Product cheap = service.save(product("STS-1", 20));
+		Product expensive = service.save(product("STS-2", 5000));
+		service.update(cheap.getId(), product("STS-1", 400));
+		service.delete(expensive.getId());
+		service.save(product("STS-3", 30));
+
+		ProductStats after = stats.current().orElseThrow();
+		assertEquals(before.count() + 2, after.count());
+		assertEquals(before.totalPrice() + 430, after.totalPrice());
+		assertEquals(List.of(1L, 1L, 0L), deltas(before, after));
+
+		// el recálculo completo coincide con lo aplicado por eventos
+		assertTrue(stats.verify());
+		assertEquals(after.count(), stats.current().orElseThrow().count());
+	}
+
+	private static List<Long> deltas(ProductStats before, ProductStats after) {
+		return IntStream.range(0, after.histogram().size())
+				.mapToObj(i -> after.histogram().get(i).count() - before.histogram().get(i).count())
+				.toList();
+	}
+
+	private ProductStats await() throws InterruptedException {
+		for (int i = 0; i < 500 && stats.current().isEmpty(); i++) {
+			Thread.sleep(10);
+		}
+		return stats.current().orElseThrow();
+	}
+
+}
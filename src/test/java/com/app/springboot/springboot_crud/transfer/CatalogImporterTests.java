@@ -0,0 +1,146 @@
+package com.app.springboot.springboot_crud.transfer;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.springboot.springboot_crud.dto.BatchItemResult;
+import com.app.springboot.springboot_crud.dto.CatalogImportStatus;
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = { "app.products.import.enabled=true", "app.products.import.chunk-size=2",
+		"app.products.import.mmap-threshold=0B" })
+class CatalogImporterTests {
+
+	@Autowired
+	private CatalogImporter importer;
+
+	@Autowired
+	private ProductService service;
+
+	@Test
+	void csvImportReportsInvalidRows() throws Exception {
+		service.save(product("IMP-EXISTE", "Existente", 100, "Ya estaba"));
+		String csv = "sku,name,price,description\r\n"
+				+ "IMP-1,Primero,100,\"Con coma, y \"\"comillas\"\"\"\r\n"
+				+ "IMP-2,Segundo,abc,Precio inválido\r\n"
+				+ "IMP-3,Tercero,150,\"Varias\nlíneas\"\r\n"
+				+ "IMP-1,Repetido,100,Sku repetido\r\n"
+				+ "IMP-EXISTE,Otro,100,Sku existente\r\n"
+				+ "IMP-4,Cuarto,200,Último\r\n";
+
+		CatalogImportStatus status = await(importer
+				.submit(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CatalogFormat.CSV)
+				.orElseThrow());
+
+		assertEquals(CatalogImportStatus.State.COMPLETED, status.state());
+		assertEquals(6, status.rows());
+		assertEquals(3, status.created());
+		assertEquals(3, status.invalid());
+		assertEquals(status.bytes(), status.bytesRead());
+		assertEquals(List.of(2, 4, 5), status.errors().stream().map(BatchItemResult::index).toList());
+		assertTrue(status.errors().get(0).errors().get("price").contains("número"));
+		assertTrue(status.errors().get(1).errors().containsKey("sku"));
+		assertTrue(status.errors().get(2).errors().containsKey("sku"));
+		assertEquals(List.of("Con coma, y \"comillas\"", "Varias\nlíneas", "Último"), descriptions("IMP-1", "IMP-3", "IMP-4"));
+	}
+
+	@Test
+	void secondImportIsRejectedWhileOneIsReceived() throws Exception {
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		byte[] csv = "sku,name,price,description\r\nIMP-BUSY,Ocupado,100,Uno\r\n".getBytes(StandardCharsets.UTF_8);
+		InputStream slow = new ByteArrayInputStream(csv) {
+
+			@Override
+			public synchronized int read(byte[] bytes, int offset, int length) {
+				reading.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.read(bytes, offset, length);
+			}
+		};
+		CompletableFuture<CatalogImportStatus> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return importer.submit(slow, CatalogFormat.CSV).orElseThrow();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+		assertThrows(CatalogImporter.Busy.class,
+				() -> importer.submit(new ByteArrayInputStream(csv), CatalogFormat.CSV));
+
+		release.countDown();
+		assertEquals(CatalogImportStatus.State.COMPLETED, await(first.get(5, TimeUnit.SECONDS)).state());
+	}
+
+	@Test
+	void formatsRoundTrip() throws Exception {
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < ColumnarProductWriter.BLOCK_ROWS + 10; i++) {
+			products.add(product("RT-" + i, "Nombre, \"" + i + "\"", i % 7 == 0 ? null : i * 10, "Línea 1\r\nLínea 2"));
+		}
+		for (CatalogFormat format : CatalogFormat.values()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ProductWriter writer = format.writer(out);
+			for (Product product : products) {
+				writer.write(product);
+			}
+			writer.finish();
+
+			ProductReader reader = format.reader(new ByteArrayInputStream(out.toByteArray()));
+			for (Product expected : products) {
+				CatalogRecord record = reader.next();
+				assertEquals(expected.getSku(), record.product().getSku(), format.token());
+				assertEquals(expected.getName(), record.product().getName(), format.token());
+				assertEquals(expected.getPrice(), record.product().getPrice(), format.token());
+				assertEquals(expected.getDescription(), record.product().getDescription(), format.token());
+			}
+			assertNull(reader.next(), format.token());
+		}
+	}
+
+	private List<String> descriptions(String... skus) {
+		List<String> descriptions = new ArrayList<>();
+		for (String sku : skus) {
+			service.forEach(product -> {
+				if (product.getSku().equals(sku)) {
+					descriptions.add(product.getDescription());
+				}
+			});
+		}
+		return descriptions;
+	}
+
+	private CatalogImportStatus await(CatalogImportStatus submitted) throws InterruptedException {
+		CatalogImportStatus status = submitted;
+		for (int i = 0; i < 500 && status.state() == CatalogImportStatus.State.RUNNING; i++) {
+			Thread.sleep(10);
+			status = importer.status(submitted.importId()).orElseThrow();
+		}
+		return status;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.app.springboot.springboot_crud.validation;
+
+import static com.app.springboot.springboot_crud.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import com.app.springboot.springboot_crud.entities.Product;
+import com.app.springboot.springboot_crud.services.ProductService;
+
+@SpringBootTest(properties = "app.products.validation.fast-path=true")
+class ProductFastValidatorTests {
+
+	@Autowired
+	private ProductFastValidator fastValidator;
+
+	@Autowired
+	private jakarta.validation.Validator validator;
+
+	@Autowired
+	private ProductService service;
+
+	@Test
+	void errorsMatchReflectiveValidation() {
+		List<Product> products = List.of(
+				product("FAST-1", "Producto", 100, "Descripción"),
+				product(null, "Producto", 100, "Descripción"),
+				product("FAST-2", null, 100, "Descripción"),
+				product("FAST-3", "ab", 100, "Descripción"),
+				product("FAST-4", "Un nombre demasiado largo", 100, "Descripción"),
+				product("FAST-5", "  ", 100, "Descripción"),
+				product("FAST-6", "Producto", null, "Descripción"),
+				product("FAST-7", "Producto", 5, " "),
+				product("", "", null, null));
+
+		for (Product product : products) {
+			assertEquals(errors(new SpringValidatorAdapter(validator), product), errors(fastValidator, product),
+					String.valueOf(product));
+		}
+	}
+
+	@Test
+	void rejectsExistingSku() {
+		service.save(product("FAST-DUP", "Producto", 100, "Descripción"));
+
+		Map<String, String> errors = errors(fastValidator, product("FAST-DUP", "Producto", 100, "Descripción"));
+
+		assertEquals(Map.of("sku", IsExistsDB.MESSAGE), errors);
+	}
+
+	@Test
+	void validProductHasNoErrors() {
+		BindingResult result = new BeanPropertyBindingResult(product("FAST-OK", "Producto", 100, "Descripción"),
+				"product");
+		fastValidator.validate(result.getTarget(), result);
+		assertFalse(result.hasErrors());
+	}
+
+	/* Igual que ProductController.validation(BindingResult) */
+	private static Map<String, String> errors(org.springframework.validation.Validator validator, Product product) {
+		BindingResult result = new BeanPropertyBindingResult(product, "product");
+		validator.validate(product, result);
+		Map<String, String> errors = new LinkedHashMap<>();
+		result.getFieldErrors().forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
+		return errors;
+	}
+
+}